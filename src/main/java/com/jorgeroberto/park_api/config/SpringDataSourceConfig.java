@@ -0,0 +1,88 @@
+package com.jorgeroberto.park_api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/*
+ * Dimensionamento do pool do Hikari (perfil prod: park.datasource.pool.auto-size=true).
+ * Tamanho = núcleos do banco * 2 + 1 (fórmula do HikariCP), limitado pela concorrência esperada de transações:
+ * conexões além disso só disputam CPU e disco do MySQL. Um maximum-pool-size explícito prevalece.
+ * As métricas hikaricp.connections.* (active, idle, pending, acquire = espera pela conexão) saem pelo actuator.
+ * */
+@Slf4j
+@RequiredArgsConstructor
+@Configuration
+public class SpringDataSourceConfig {
+
+    private static final String MAXIMUM_POOL_SIZE = "spring.datasource.hikari.maximum-pool-size";
+
+    private final Environment environment;
+
+    //static: o BeanPostProcessor é criado antes dos demais beans e ajusta o pool antes da primeira conexão
+    @Bean
+    public static BeanPostProcessor hikariPoolSizer(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource
+                        && environment.getProperty("park.datasource.pool.auto-size", Boolean.class, false)
+                        && !environment.containsProperty(MAXIMUM_POOL_SIZE)) {
+                    int size = poolSize(environment.getProperty("park.datasource.pool.db-cores", Integer.class, 0),
+                            environment.getProperty("park.datasource.pool.expected-concurrency", Integer.class, 0));
+                    dataSource.setMaximumPoolSize(size);
+                    // pool de tamanho fixo, como recomenda o HikariCP: sem abrir conexões no meio de um pico
+                    dataSource.setMinimumIdle(size);
+                    log.info("Pool do Hikari dimensionado com {} conexões", size);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // 0 em dbCores usa os processadores desta máquina; 0 em expectedConcurrency não limita
+    static int poolSize(int dbCores, int expectedConcurrency) {
+        int cores = dbCores > 0 ? dbCores : Runtime.getRuntime().availableProcessors();
+        int size = cores * 2 + 1;
+        return expectedConcurrency > 0 ? Math.min(size, expectedConcurrency) : size;
+    }
+
+    /*
+     * Com open-in-view a conexão fica presa à requisição inteira, então cada thread do Tomcat pode segurar uma;
+     * sem ele, só as transações seguram conexão e a demanda é a concorrência esperada.
+     * Pool menor que a demanda faz requisições esperarem até connection-timeout (hikaricp.connections.pending).
+     * */
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkPoolSize(ApplicationReadyEvent event) throws SQLException {
+        DataSource dataSource = event.getApplicationContext().getBean(DataSource.class);
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            return;
+        }
+        int poolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        boolean openInView = environment.getProperty("spring.jpa.open-in-view", Boolean.class, true);
+        boolean virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        int tomcatThreads = environment.getProperty("server.tomcat.threads.max", Integer.class, 200);
+        int expectedConcurrency = environment.getProperty("park.datasource.pool.expected-concurrency", Integer.class, 0);
+
+        if (openInView && virtualThreads) {
+            log.warn("open-in-view com virtual threads: cada requisição segura uma conexão e não há limite de threads; " +
+                    "o pool de {} conexões vira a fila de todas as requisições. Desative spring.jpa.open-in-view", poolSize);
+        } else if (openInView && poolSize < tomcatThreads) {
+            log.warn("Pool de {} conexões para {} threads do Tomcat com open-in-view (uma conexão por requisição): " +
+                    "requisições vão esperar por conexão. Desative spring.jpa.open-in-view ou aumente {}",
+                    poolSize, tomcatThreads, MAXIMUM_POOL_SIZE);
+        } else if (poolSize < Math.min(expectedConcurrency, virtualThreads ? Integer.MAX_VALUE : tomcatThreads)) {
+            log.warn("Pool de {} conexões abaixo da concorrência esperada de {} transações: requisições vão esperar por conexão",
+                    poolSize, expectedConcurrency);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.jorgeroberto.park_api.config;
+
+import com.jorgeroberto.park_api.metrics.SqlMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/*
+ * Executor dedicado ao bcrypt (login e troca de senha). Com poucas threads e fila limitada,
+ * um pico de logins não ocupa o pool de requisições; o excedente é rejeitado (503) em vez de enfileirar sem limite.
+ * As tarefas levam o SecurityContext da requisição: a troca de senha grava updated_by pelo AuditorAware.
+ * */
+@Configuration
+public class SpringPasswordHashingConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashingExecutor(@Value("${park.security.hashing.threads:0}") int threads,
+                                                          @Value("${park.security.hashing.queue-capacity:200}") int queueCapacity) {
+        // 0 usa o número de processadores disponíveis
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hashing-");
+        executor.setTaskDecorator(task -> DelegatingSecurityContextRunnable.create(SqlMetrics.wrap(task), null));
+        return executor;
+    }
+
+    /*
+     * Pool do bcrypt da importação de clientes, separado do de login para não consumir sua fila (e gerar 503).
+     * A fila comporta um bloco da importação e, cheia, a própria thread da requisição faz o hash (CallerRuns).
+     * */
+    @Bean
+    public ThreadPoolTaskExecutor customerImportHashingExecutor(@Value("${park.customers.import.hashing-threads:0}") int threads,
+                                                                @Value("${park.customers.import.batch-size:500}") int batchSize) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(batchSize);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("customer-import-hashing-");
+        return executor;
+    }
+}
@@ -0,0 +1,10 @@
+package com.jorgeroberto.park_api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Habilita os métodos @Scheduled (ex.: reconciliação do índice de vagas livres)
+@EnableScheduling
+@Configuration
+public class SpringSchedulingConfig {
+}
@@ -3,6 +3,8 @@ package com.jorgeroberto.park_api.config;
 import com.jorgeroberto.park_api.jwt.JwtAccessDeniedHandler;
 import com.jorgeroberto.park_api.jwt.JwtAuthenticationEntryPoint;
 import com.jorgeroberto.park_api.jwt.JwtAuthorizationFilter;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -12,16 +14,21 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
+import java.util.Map;
+
 @Configuration
 @EnableWebMvc
 @EnableMethodSecurity
 public class SpringSecurityConfig {
 
+    private static final String BCRYPT_ID = "bcrypt";
+
     private static final String[] DOCUMENTATION_OPENAPI = {
             "/docs/index.html",
             "/docs-park.html", "/docs-park/**",
@@ -37,9 +44,13 @@ public class SpringSecurityConfig {
                 .formLogin(form -> form.disable()) //informa para não esperar um form de login
                 .httpBasic(basic -> basic.disable())
                 .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() //respostas em streaming, já autorizadas no REQUEST
                         .requestMatchers(HttpMethod.POST, "api/v1/users").permitAll()
                         .requestMatchers(HttpMethod.POST, "api/v1/auth").permitAll()
+                        .requestMatchers(HttpMethod.GET, "api/v1/parking/occupancy").permitAll() //painéis das entradas
                         .requestMatchers(DOCUMENTATION_OPENAPI).permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 ).sessionManagement(
                         session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
@@ -56,9 +67,24 @@ public class SpringSecurityConfig {
         return new JwtAuthorizationFilter();
     }
 
+    /*
+     * Hashes novos são gravados como {bcrypt} com o custo configurado. Hashes antigos, sem prefixo, continuam
+     * válidos e só são regravados no login (UserDetailsPasswordService) quando o custo deles é menor que o configurado.
+     * */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${park.security.bcrypt.strength:10}") int strength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt)) {
+            @Override
+            public boolean upgradeEncoding(String prefixEncodedPassword) {
+                if (prefixEncodedPassword != null && !prefixEncodedPassword.startsWith("{")) {
+                    return bcrypt.upgradeEncoding(prefixEncodedPassword);
+                }
+                return super.upgradeEncoding(prefixEncodedPassword);
+            }
+        };
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
     @Bean
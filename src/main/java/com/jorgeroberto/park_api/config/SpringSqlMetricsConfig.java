@@ -0,0 +1,52 @@
+package com.jorgeroberto.park_api.config;
+
+import com.jorgeroberto.park_api.metrics.SqlMetrics;
+import com.jorgeroberto.park_api.metrics.SqlMetricsHandlerInterceptor;
+import com.jorgeroberto.park_api.metrics.SqlMetricsInterceptor;
+import com.jorgeroberto.park_api.metrics.SqlMetricsSessionEventListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Métricas de SQL por requisição (park.sql.*), com a tag handler = Controller.metodo
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "park.metrics.sql.enabled", havingValue = "true", matchIfMissing = true)
+@Configuration
+public class SpringSqlMetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlMetricsHibernatePropertiesCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlMetricsSessionEventListener.class.getName());
+            properties.put(AvailableSettings.INTERCEPTOR, new SqlMetricsInterceptor());
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlMetricsHandlerInterceptor(meterRegistry));
+    }
+
+    //Respostas em streaming rodam fora da thread da requisição e levam o contador junto
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("mvc-async-");
+        executor.setVirtualThreads(virtualThreads); // escrita bloqueante no socket: não precisa de thread de plataforma
+        executor.setTaskDecorator(SqlMetrics::wrap);
+        configurer.setTaskExecutor(executor);
+    }
+}
@@ -13,6 +13,8 @@ import java.util.TimeZone;
 @Configuration
 public class SpringTimezoneConfig {
 
+    public static final String TIMEZONE = "America/Sao_Paulo";
+
     /*
     * Executa o métod anotado logo após a
     * construção do bean e antes da
@@ -24,7 +26,7 @@ public class SpringTimezoneConfig {
      * */
     @PostConstruct
     public void timezoneConfig () {
-        TimeZone.setDefault(TimeZone.getTimeZone("America/Sao_Paulo"));
+        TimeZone.setDefault(TimeZone.getTimeZone(TIMEZONE));
     }
 /*
     @Bean
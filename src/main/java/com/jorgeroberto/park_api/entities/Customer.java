@@ -13,7 +13,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "customers")
+@Table(name = "customers", indexes = @Index(name = "idx_customers_name_id", columnList = "name, id"))
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true) @ToString(onlyExplicitlyIncluded = true)
@@ -30,7 +30,9 @@ public class Customer implements Serializable {
     @Column(name = "cpf", nullable = false, unique = true, length = 11)
     private String cpf;
 
-    @OneToOne
+    // LAZY: as respostas de cliente não usam o usuário (nem o hash da senha); com o padrão EAGER do @OneToOne
+    // cada cliente carregado trazia também a linha de users
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_user", nullable = false)
     private User user;
 
@@ -0,0 +1,87 @@
+package com.jorgeroberto.park_api.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/*
+ * Registro de uma estadia: o veículo de um cliente ocupando uma vaga, do check-in ao check-out.
+ * */
+@Entity
+@Table(name = "customer_parking_space")
+@EntityListeners(AuditingEntityListener.class)
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true) @ToString(onlyExplicitlyIncluded = true)
+public class CustomerParkingSpace implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    @EqualsAndHashCode.Include @ToString.Include
+    private Long id;
+
+    @Column(name = "receipt", nullable = false, unique = true, length = 20)
+    private String receipt;
+
+    @Column(name = "plate", nullable = false, length = 8)
+    private String plate;
+
+    @Column(name = "brand", nullable = false, length = 45)
+    private String brand;
+
+    @Column(name = "model", nullable = false, length = 45)
+    private String model;
+
+    @Column(name = "color", nullable = false, length = 45)
+    private String color;
+
+    @Column(name = "entry_date", nullable = false)
+    private LocalDateTime entryDate;
+
+    @Column(name = "exit_date")
+    private LocalDateTime exitDate;
+
+    // Tarifa e desconto de fidelidade, calculados no check-out (TariffEngine)
+    @Column(name = "fee", precision = 9, scale = 2)
+    private BigDecimal fee;
+
+    @Column(name = "discount", precision = 9, scale = 2)
+    private BigDecimal discount;
+
+    @ManyToOne
+    @JoinColumn(name = "id_customer", nullable = false)
+    private Customer customer;
+
+    @ManyToOne
+    @JoinColumn(name = "id_parking_space", nullable = false)
+    private ParkingSpace parkingSpace;
+
+    // Data/hora em que o registro foi criado
+    @CreatedDate
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    // Data/hora da última atualização no registro
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Usuário responsável pela criação
+    @CreatedBy
+    @Column(name = "created_by")
+    private String createdBy;
+
+    // Usuário responsável pela última atualização
+    @LastModifiedBy
+    @Column(name = "updated_by")
+    private String updatedBy;
+}
@@ -0,0 +1,71 @@
+package com.jorgeroberto.park_api.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/*
+ * Estadia encerrada copiada para o histórico do cliente no check-out. A tabela é particionada por mês de entrada
+ * no MySQL (CustomerVisitPartitionManager), por isso entry_date faz parte da chave primária e não há chaves
+ * estrangeiras (o MySQL não as aceita em tabelas particionadas): cliente e vaga ficam como valores copiados.
+ * */
+@Entity
+@Table(name = "customer_visit_history",
+        indexes = @Index(name = "idx_customer_visit_history_customer_entry", columnList = "customer_id, entry_date"))
+@IdClass(CustomerVisit.Key.class)
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true) @ToString(onlyExplicitlyIncluded = true)
+public class CustomerVisit implements Persistable<CustomerVisit.Key> {
+
+    @Id
+    @Column(name = "receipt", length = 20)
+    @EqualsAndHashCode.Include @ToString.Include
+    private String receipt;
+
+    @Id
+    @Column(name = "entry_date")
+    @EqualsAndHashCode.Include
+    private LocalDateTime entryDate;
+
+    @Column(name = "exit_date", nullable = false)
+    private LocalDateTime exitDate;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "parking_space_code", nullable = false, length = 4)
+    private String parkingSpaceCode;
+
+    @Column(name = "plate", nullable = false, length = 8)
+    private String plate;
+
+    @Column(name = "fee", precision = 9, scale = 2)
+    private BigDecimal fee;
+
+    @Column(name = "discount", precision = 9, scale = 2)
+    private BigDecimal discount;
+
+    @Override
+    public Key getId() {
+        return new Key(receipt, entryDate);
+    }
+
+    //O histórico só recebe inserts: sem isso o save com chave atribuída faria um SELECT antes de cada INSERT
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String receipt;
+        private LocalDateTime entryDate;
+    }
+}
@@ -0,0 +1,35 @@
+package com.jorgeroberto.park_api.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/*
+ * Totais por cliente, atualizados a cada check-out junto com o histórico (CustomerVisitService):
+ * os resumos e o desconto de fidelidade leem uma linha por chave primária, sem percorrer customer_visit_history.
+ * */
+@Entity
+@Table(name = "customer_visit_stats")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true) @ToString(onlyExplicitlyIncluded = true)
+public class CustomerVisitStats implements Serializable {
+
+    @Id
+    @Column(name = "customer_id")
+    @EqualsAndHashCode.Include @ToString.Include
+    private Long customerId;
+
+    @Column(name = "visit_count", nullable = false)
+    private Long visitCount;
+
+    // Soma de fee - discount das estadias encerradas
+    @Column(name = "total_spent", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalSpent;
+
+    @Column(name = "last_visit")
+    private LocalDateTime lastVisit;
+}
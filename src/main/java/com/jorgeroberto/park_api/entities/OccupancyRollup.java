@@ -0,0 +1,92 @@
+package com.jorgeroberto.park_api.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/*
+ * Agregado de um intervalo (hora ou dia) para um nível de vagas (prefixo do código, ex.: "A-"): segundos de
+ * ocupação das estadias encerradas que passaram pelo intervalo, check-outs e receita (tarifa - desconto) dos
+ * check-outs feitos nele. Mantido pelo OccupancyRollupService; o relatório lê uma linha por intervalo e nível.
+ * O Hibernate ordena as colunas da chave primária por conta própria (level primeiro), então as leituras por período
+ * usam o índice (granularity, bucket_start, level).
+ * */
+@Entity
+@Table(name = "occupancy_rollup",
+        indexes = @Index(name = "idx_occupancy_rollup_granularity_bucket", columnList = "granularity, bucket_start, level"))
+@IdClass(OccupancyRollup.Key.class)
+@Getter @Setter
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true) @ToString(onlyExplicitlyIncluded = true)
+public class OccupancyRollup implements Persistable<OccupancyRollup.Key> {
+
+    @Id
+    @Column(name = "granularity", length = 4)
+    @Enumerated(EnumType.STRING)
+    @EqualsAndHashCode.Include @ToString.Include
+    private Granularity granularity;
+
+    @Id
+    @Column(name = "bucket_start")
+    @EqualsAndHashCode.Include @ToString.Include
+    private LocalDateTime bucketStart;
+
+    @Id
+    @Column(name = "level", length = 4)
+    @EqualsAndHashCode.Include @ToString.Include
+    private String level;
+
+    @Column(name = "occupied_seconds", nullable = false)
+    private long occupiedSeconds;
+
+    @Column(name = "check_outs", nullable = false)
+    private long checkOuts;
+
+    @Column(name = "revenue", nullable = false, precision = 12, scale = 2)
+    private BigDecimal revenue;
+
+    //Linhas novas são inseridas direto; as carregadas do banco são atualizadas pelo dirty checking
+    @Transient
+    private boolean fresh;
+
+    public OccupancyRollup(Key key) {
+        this.granularity = key.getGranularity();
+        this.bucketStart = key.getBucketStart();
+        this.level = key.getLevel();
+        this.revenue = BigDecimal.ZERO;
+        this.fresh = true;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(granularity, bucketStart, level);
+    }
+
+    @Override
+    public boolean isNew() {
+        return fresh;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        this.fresh = false;
+    }
+
+    public enum Granularity {
+        HOUR, DAY
+    }
+
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Granularity granularity;
+        private LocalDateTime bucketStart;
+        private String level;
+    }
+}
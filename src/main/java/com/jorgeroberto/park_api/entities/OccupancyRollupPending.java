@@ -0,0 +1,39 @@
+package com.jorgeroberto.park_api.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/*
+ * Estadia encerrada ainda não somada em occupancy_rollup. Gravada na transação do check-out e apagada na
+ * transação que a soma (OccupancyRollupService.drain), então cada estadia entra nos agregados uma única vez.
+ * */
+@Entity
+@Table(name = "occupancy_rollup_pending")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true) @ToString(onlyExplicitlyIncluded = true)
+public class OccupancyRollupPending implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    @EqualsAndHashCode.Include @ToString.Include
+    private Long id;
+
+    @Column(name = "level", nullable = false, length = 4)
+    private String level;
+
+    @Column(name = "entry_date", nullable = false)
+    private LocalDateTime entryDate;
+
+    @Column(name = "exit_date", nullable = false)
+    private LocalDateTime exitDate;
+
+    // fee - discount da estadia
+    @Column(name = "spent", nullable = false, precision = 9, scale = 2)
+    private BigDecimal spent;
+}
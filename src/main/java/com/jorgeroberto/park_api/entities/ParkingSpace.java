@@ -19,8 +19,14 @@ import java.time.LocalDateTime;
 @NoArgsConstructor @AllArgsConstructor
 public class ParkingSpace implements Serializable {
 
+    // Ids reservados em blocos (pooled): o Hibernate só vai ao banco a cada ID_ALLOCATION_SIZE inserts,
+    // o que permite agrupar os INSERTs em lotes JDBC (com IDENTITY o batch é desativado)
+    public static final String ID_SEQUENCE = "parking_space_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -0,0 +1,26 @@
+package com.jorgeroberto.park_api.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/*
+ * Contador de números de recibo: next_value é o primeiro número ainda não reservado por nenhuma instância.
+ * Cada instância reserva blocos de números (ReceiptNumberAllocator) e só volta aqui quando o bloco acaba.
+ * */
+@Entity
+@Table(name = "receipt_counter")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ReceiptCounter implements Serializable {
+
+    @Id
+    @Column(name = "name", length = 30)
+    @EqualsAndHashCode.Include
+    private String name;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
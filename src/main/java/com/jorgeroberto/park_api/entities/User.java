@@ -1,5 +1,6 @@
 package com.jorgeroberto.park_api.entities;
 
+import com.jorgeroberto.park_api.jwt.JwtUserDetailsCacheListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.data.annotation.CreatedBy;
@@ -42,7 +43,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true) //Apenas o campo "id" será usado para equals/hashCode
 @ToString(onlyExplicitlyIncluded = true) //Apenas o campo "id" será exibido no toString()
-@EntityListeners(AuditingEntityListener.class) //auditoria
+@EntityListeners({AuditingEntityListener.class, JwtUserDetailsCacheListener.class}) //auditoria e invalidação do cache de principals
 public class User implements Serializable {
 
     @Id
@@ -0,0 +1,19 @@
+package com.jorgeroberto.park_api.events;
+
+import com.jorgeroberto.park_api.entities.ParkingSpace;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/*
+ * Publicado pelo ParkingSpaceService sempre que uma vaga é criada (previous == null) ou muda de status.
+ * Os ouvintes usam @TransactionalEventListener para reagir apenas ao que foi efetivado no banco.
+ * */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ParkingSpaceStatusChangedEvent {
+    private final String code;
+    private final ParkingSpace.ParkingStatus previous;
+    private final ParkingSpace.ParkingStatus current;
+}
@@ -0,0 +1,19 @@
+package com.jorgeroberto.park_api.exceptions;
+
+import lombok.Getter;
+
+/*
+ * Base das exceções de negócio (404, 409, 400). Sem stack trace (fillInStackTrace não é chamado) nem
+ * exceções suprimidas: são lançadas em caminhos que qualquer cliente provoca (código de vaga inexistente,
+ * CPF repetido) e o ApiExceptionHandler só usa a mensagem e o código. Erros inesperados continuam fora dela.
+ * */
+@Getter
+public abstract class BusinessException extends RuntimeException {
+
+    private final ErrorCode errorCode;
+
+    protected BusinessException(ErrorCode errorCode, String message) {
+        super(message, null, false, false);
+        this.errorCode = errorCode;
+    }
+}
@@ -1,7 +1,7 @@
 package com.jorgeroberto.park_api.exceptions;
 
-public class CodeUniqueViolationException extends RuntimeException {
+public class CodeUniqueViolationException extends BusinessException {
     public CodeUniqueViolationException(String message) {
-        super(message);
+        super(ErrorCode.CODE_ALREADY_EXISTS, message);
     }
 }
@@ -1,7 +1,7 @@
 package com.jorgeroberto.park_api.exceptions;
 
-public class CpfUniqueViolationException extends RuntimeException {
+public class CpfUniqueViolationException extends BusinessException {
     public CpfUniqueViolationException(String message) {
-        super(message);
+        super(ErrorCode.CPF_ALREADY_EXISTS, message);
     }
 }
@@ -1,7 +1,7 @@
 package com.jorgeroberto.park_api.exceptions;
 
-public class EntityNotFoundException extends RuntimeException {
+public class EntityNotFoundException extends BusinessException {
     public EntityNotFoundException(String message) {
-        super(message);
+        super(ErrorCode.ENTITY_NOT_FOUND, message);
     }
 }
@@ -0,0 +1,20 @@
+package com.jorgeroberto.park_api.exceptions;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+//Código de erro devolvido no campo 'code' do ErrorMessage, com o status HTTP correspondente
+@Getter
+@RequiredArgsConstructor
+public enum ErrorCode {
+    ENTITY_NOT_FOUND(HttpStatus.NOT_FOUND),
+    USERNAME_ALREADY_EXISTS(HttpStatus.CONFLICT),
+    CPF_ALREADY_EXISTS(HttpStatus.CONFLICT),
+    CODE_ALREADY_EXISTS(HttpStatus.CONFLICT),
+    PASSWORD_INVALID(HttpStatus.BAD_REQUEST),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST),
+    INVALID_REPORT_RANGE(HttpStatus.BAD_REQUEST);
+
+    private final HttpStatus status;
+}
@@ -0,0 +1,7 @@
+package com.jorgeroberto.park_api.exceptions;
+
+public class InvalidCursorException extends BusinessException {
+    public InvalidCursorException(String message) {
+        super(ErrorCode.INVALID_CURSOR, message);
+    }
+}
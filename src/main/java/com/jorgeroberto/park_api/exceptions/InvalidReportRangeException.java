@@ -0,0 +1,7 @@
+package com.jorgeroberto.park_api.exceptions;
+
+public class InvalidReportRangeException extends BusinessException {
+    public InvalidReportRangeException(String message) {
+        super(ErrorCode.INVALID_REPORT_RANGE, message);
+    }
+}
@@ -1,7 +1,7 @@
 package com.jorgeroberto.park_api.exceptions;
 
-public class PasswordInvalidException extends RuntimeException {
+public class PasswordInvalidException extends BusinessException {
     public PasswordInvalidException(String message) {
-        super(message);
+        super(ErrorCode.PASSWORD_INVALID, message);
     }
 }
@@ -1,7 +1,7 @@
 package com.jorgeroberto.park_api.exceptions;
 
-public class UsernameUniqueViolationException extends RuntimeException {
+public class UsernameUniqueViolationException extends BusinessException {
     public UsernameUniqueViolationException(String message) {
-        super(message);
+        super(ErrorCode.USERNAME_ALREADY_EXISTS, message);
     }
 }
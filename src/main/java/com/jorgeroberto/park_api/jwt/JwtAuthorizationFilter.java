@@ -22,6 +22,9 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUserDetailsService detailsService;
 
+    @Autowired
+    private JwtVerifier jwtVerifier;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         final String token = request.getHeader(JwtUtils.JWT_AUTHORIZATION);
@@ -31,22 +34,21 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
             return;
         }
 
-        if (!JwtUtils.isTokenValid(token)) {
+        JwtClaims claims = jwtVerifier.verify(token);
+        if (claims == null) {
             log.warn("JWT token está inválido ou expirado");
             filterChain.doFilter(request, response);
             return;
         }
 
-        String username = JwtUtils.getUsernameFromToken(token);
-
-        toAuthentication(request, username);
+        toAuthentication(request, claims);
 
         filterChain.doFilter(request, response);
     }
 
 
-    private void toAuthentication(HttpServletRequest request, String username) {
-        UserDetails userDetails = detailsService.loadUserByUsername(username);
+    private void toAuthentication(HttpServletRequest request, JwtClaims claims) {
+        UserDetails userDetails = detailsService.loadUserByClaims(claims);
         UsernamePasswordAuthenticationToken authenticationToken = UsernamePasswordAuthenticationToken
                 .authenticated(userDetails, null, userDetails.getAuthorities());
         authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
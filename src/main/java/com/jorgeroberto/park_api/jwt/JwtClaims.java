@@ -0,0 +1,14 @@
+package com.jorgeroberto.park_api.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//Claims já verificadas de um token, consumidas pelo JwtAuthorizationFilter
+@AllArgsConstructor
+@Getter
+public class JwtClaims {
+    private final Long id;
+    private final String username;
+    private final String role;
+    private final long expiresAt;
+}
@@ -5,18 +5,27 @@ import org.springframework.security.core.authority.AuthorityUtils;
 
 public class JwtUserDetails extends org.springframework.security.core.userdetails.User{
 
-    private User user;
+    private final Long id;
+    private final String role;
 
     public JwtUserDetails(User user) {
         super(user.getUsername(), user.getPassword(), AuthorityUtils.createAuthorityList(user.getRole().name()));
-        this.user = user;
+        this.id = user.getId();
+        this.role = user.getRole().name();
+    }
+
+    //Principal montado sem consultar o banco (claims do token ou cache), por isso não carrega a senha
+    public JwtUserDetails(Long id, String username, String role) {
+        super(username, "", AuthorityUtils.createAuthorityList(role));
+        this.id = id;
+        this.role = role;
     }
 
     public Long getId() {
-        return this.user.getId();
+        return this.id;
     }
 
     public String getRole() {
-        return this.user.getRole().name();
+        return this.role;
     }
 }
@@ -0,0 +1,55 @@
+package com.jorgeroberto.park_api.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/*
+ * Cache em memória dos principals autenticados, indexado pelo username.
+ * Limitado em tamanho e com expiração por TTL, evita um SELECT em users a cada requisição
+ * quando o token não traz as claims necessárias (ou quando o modo 'cache' está ativo).
+ * */
+@Component
+public class JwtUserDetailsCache {
+
+    private final Cache<String, JwtUserDetails> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public JwtUserDetailsCache(@Value("${park.jwt.principal.cache.max-size:10000}") long maxSize,
+                               @Value("${park.jwt.principal.cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /*
+     * Carrega fora do cache.get(key, loader): o Caffeine roda o loader dentro de um ConcurrentHashMap.compute,
+     * que segura um monitor (synchronized) durante o SELECT e prenderia a virtual thread ao carrier.
+     * Duas requisições simultâneas pelo mesmo username podem carregar em dobro, o que é inofensivo aqui.
+     * Se houve invalidação durante a carga, o valor lido pode ser anterior à alteração e não é guardado
+     * (mesma guarda do ParkingSpaceCache).
+     * */
+    public JwtUserDetails get(String username, Function<String, JwtUserDetails> loader) {
+        JwtUserDetails cached = cache.getIfPresent(username);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = invalidations.get();
+        JwtUserDetails loaded = loader.apply(username);
+        if (invalidations.get() == generation) {
+            cache.put(username, loaded);
+        }
+        return loaded;
+    }
+
+    public void invalidate(String username) {
+        invalidations.incrementAndGet();
+        cache.invalidate(username);
+    }
+}
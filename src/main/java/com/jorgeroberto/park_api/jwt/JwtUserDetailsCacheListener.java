@@ -0,0 +1,35 @@
+package com.jorgeroberto.park_api.jwt;
+
+import com.jorgeroberto.park_api.entities.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+ * Remove o principal do cache sempre que o usuário for alterado (senha, role) ou excluído: no flush e de novo após
+ * o commit, para descartar o que uma leitura concorrente tenha carregado antes da transação terminar.
+ * */
+@RequiredArgsConstructor
+@Component
+public class JwtUserDetailsCacheListener {
+
+    private final JwtUserDetailsCache userDetailsCache;
+
+    @PostUpdate
+    @PostRemove
+    public void invalidate(User user) {
+        String username = user.getUsername();
+        userDetailsCache.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userDetailsCache.invalidate(username);
+                }
+            });
+        }
+    }
+}
@@ -2,18 +2,38 @@ package com.jorgeroberto.park_api.jwt;
 
 import com.jorgeroberto.park_api.entities.User;
 import com.jorgeroberto.park_api.services.UserService;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 
-@RequiredArgsConstructor
 @Service
-public class JwtUserDetailsService implements UserDetailsService {
+public class JwtUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    /*
+     * CLAIMS: o principal é montado a partir das claims já verificadas do token (sub, id, role),
+     * recorrendo ao cache apenas para tokens que não trazem o id.
+     * CACHE: o principal sempre vem do banco, mantido em cache por username.
+     * */
+    public enum PrincipalMode {
+        CLAIMS,
+        CACHE
+    }
 
     private final UserService userService;
+    private final JwtUserDetailsCache userDetailsCache;
+    private final PrincipalMode principalMode;
+
+    public JwtUserDetailsService(UserService userService,
+                                 JwtUserDetailsCache userDetailsCache,
+                                 @Value("${park.jwt.principal.mode:claims}") PrincipalMode principalMode) {
+        this.userService = userService;
+        this.userDetailsCache = userDetailsCache;
+        this.principalMode = principalMode;
+    }
 
     //Consulta pelo username do user, retorna se for encontrado. Usuário logado
     @Override
@@ -22,9 +42,26 @@ public class JwtUserDetailsService implements UserDetailsService {
         return new JwtUserDetails(user);
     }
 
-    //Quando cliente for autenticar na aplicação
-    public JwtToken getTokenAuthenticated(String username) {
-        User.Role role = userService.findRoleByUsername(username);
-        return JwtUtils.createToken(username, role.name().substring("ROLE_".length()));
+    //Chamado pelo AuthenticationManager após um login válido cujo hash usa custo menor que o configurado
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        return new JwtUserDetails(userService.updateEncodedPassword(user.getUsername(), newPassword));
+    }
+
+    //Principal das requisições autenticadas por token
+    public JwtUserDetails loadUserByClaims(JwtClaims claims) {
+        if (principalMode == PrincipalMode.CLAIMS && claims.getId() != null && claims.getRole() != null) {
+            return new JwtUserDetails(claims.getId(), claims.getUsername(), "ROLE_" + claims.getRole());
+        }
+        return userDetailsCache.get(claims.getUsername(), username -> {
+            User user = userService.findByUsername(username);
+            return new JwtUserDetails(user.getId(), user.getUsername(), user.getRole().name());
+        });
+    }
+
+    //Quando cliente for autenticar na aplicação: usa o principal já carregado pelo AuthenticationManager
+    public JwtToken getTokenAuthenticated(JwtUserDetails principal) {
+        return JwtUtils.createToken(principal.getId(), principal.getUsername(),
+                principal.getRole().substring("ROLE_".length()));
     }
 }
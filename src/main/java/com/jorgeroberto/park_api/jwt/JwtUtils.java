@@ -1,7 +1,5 @@
 package com.jorgeroberto.park_api.jwt;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -18,17 +16,18 @@ public class JwtUtils {
 
     public static final String JWT_BEARER = "Bearer ";
     public static final String JWT_AUTHORIZATION = "Authorization";
+    public static final String JWT_CLAIM_ID = "id";
+    public static final String JWT_CLAIM_ROLE = "role";
     public static final String SECRET_KEY = "0123456789-0123456789-0123456789";
     public static final long EXPIRE_DAYS = 0;
     public static final long EXPIRE_HOURS = 1;
     public static final long EXPIRE_MINUTES = 30;
 
-    private JwtUtils() {
+    //Chave HMAC construída uma única vez, usada na emissão e na verificação (JwtVerifier)
+    static final Key SIGNING_KEY = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
 
-    }
+    private JwtUtils() {
 
-    private static Key generateKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
     }
 
     private static Date toExpireDate(Date start) {
@@ -37,7 +36,7 @@ public class JwtUtils {
         return Date.from(end.atZone(ZoneId.systemDefault()).toInstant());
     }
 
-    public static JwtToken createToken(String username, String role) {
+    public static JwtToken createToken(Long id, String username, String role) {
         Date issuedAt = new Date();
         Date limit = toExpireDate(issuedAt);
         String token = Jwts.builder()
@@ -45,40 +44,14 @@ public class JwtUtils {
                 .setSubject(username)
                 .setIssuedAt(issuedAt)
                 .setExpiration(limit)
-                .signWith(generateKey(), SignatureAlgorithm.HS256)
-                .claim("role", role)
+                .signWith(SIGNING_KEY, SignatureAlgorithm.HS256)
+                .claim(JWT_CLAIM_ID, id)
+                .claim(JWT_CLAIM_ROLE, role)
                 .compact();
         return new JwtToken(token);
     }
 
-    private static Claims getClaimsFromToken(String token) {
-        try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(generateKey()).build()
-                    .parseClaimsJws(refactorToken(token)).getBody();
-        } catch (JwtException ex) {
-            log.error(String.format("Token invalid %s", ex.getMessage()));
-        }
-        return null;
-    }
-
-    public static String getUsernameFromToken(String token) {
-        return getClaimsFromToken(token).getSubject();
-    }
-
-    public static boolean isTokenValid(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(generateKey()).build()
-                    .parseClaimsJws(refactorToken(token));
-            return true;
-        } catch (JwtException ex) {
-            log.error(String.format("Token invalid %s", ex.getMessage()));
-        }
-        return false;
-    }
-
-    private static String refactorToken(String token) {
+    static String refactorToken(String token) {
         if (token.contains(JWT_BEARER)) {
             return token.substring(JWT_BEARER.length());
         }
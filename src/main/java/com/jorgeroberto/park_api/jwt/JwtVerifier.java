@@ -0,0 +1,65 @@
+package com.jorgeroberto.park_api.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+
+/*
+ * Verifica o token uma única vez por requisição, com chave e parser construídos uma só vez (o parser é thread-safe).
+ * Tokens já verificados ficam em um cache LRU limitado até o 'exp', evitando recalcular o HMAC de tokens quentes.
+ * A chave do cache é o próprio token compacto: a busca usa o hash da String e só acerta com o token idêntico.
+ * */
+@Slf4j
+@Component
+public class JwtVerifier {
+
+    private final JwtParser parser;
+    private final Cache<String, JwtClaims> verifiedTokens;
+
+    public JwtVerifier(@Value("${park.jwt.verifier.cache.max-size:10000}") long maxSize) {
+        this.parser = Jwts.parserBuilder().setSigningKey(JwtUtils.SIGNING_KEY).build();
+        this.verifiedTokens = maxSize <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating((String token, JwtClaims claims) ->
+                        Duration.ofMillis(Math.max(0, claims.getExpiresAt() - System.currentTimeMillis()))))
+                .build();
+    }
+
+    //Retorna as claims do token ou null se for inválido ou estiver expirado
+    public JwtClaims verify(String token) {
+        String jws = JwtUtils.refactorToken(token);
+        if (verifiedTokens != null) {
+            JwtClaims cached = verifiedTokens.getIfPresent(jws);
+            if (cached != null && cached.getExpiresAt() > System.currentTimeMillis()) {
+                return cached;
+            }
+        }
+        try {
+            Claims body = parser.parseClaimsJws(jws).getBody();
+            Date expiration = body.getExpiration();
+            JwtClaims claims = new JwtClaims(
+                    body.get(JwtUtils.JWT_CLAIM_ID, Long.class),
+                    body.getSubject(),
+                    body.get(JwtUtils.JWT_CLAIM_ROLE, String.class),
+                    expiration != null ? expiration.getTime() : Long.MAX_VALUE
+            );
+            if (verifiedTokens != null && expiration != null) {
+                verifiedTokens.put(jws, claims);
+            }
+            return claims;
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.error("Token invalid {}", ex.getMessage());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,71 @@
+package com.jorgeroberto.park_api.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Contadores de SQL de uma requisição: comandos executados, tempo gasto no JDBC e entidades carregadas.
+ * Fica associado à thread que atende a requisição; tarefas enviadas a executores (hashing de senha,
+ * respostas em streaming) levam o mesmo contador através de wrap().
+ * */
+public class SqlMetrics {
+
+    private static final ThreadLocal<SqlMetrics> CURRENT = new ThreadLocal<>();
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder jdbcNanos = new LongAdder();
+    private final LongAdder entityLoads = new LongAdder();
+
+    static SqlMetrics current() {
+        return CURRENT.get();
+    }
+
+    static void bind(SqlMetrics metrics) {
+        CURRENT.set(metrics);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    //TaskDecorator: executa a tarefa com o contador da thread que a enviou
+    public static Runnable wrap(Runnable task) {
+        SqlMetrics metrics = CURRENT.get();
+        if (metrics == null) {
+            return task;
+        }
+        return () -> {
+            SqlMetrics previous = CURRENT.get();
+            CURRENT.set(metrics);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    void statementExecuted(long nanos) {
+        statements.increment();
+        jdbcNanos.add(nanos);
+    }
+
+    void entityLoaded() {
+        entityLoads.increment();
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos.sum();
+    }
+
+    public long getEntityLoads() {
+        return entityLoads.sum();
+    }
+}
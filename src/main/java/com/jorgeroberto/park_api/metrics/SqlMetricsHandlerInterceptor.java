@@ -0,0 +1,71 @@
+package com.jorgeroberto.park_api.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Abre o contador de SQL no início da requisição e publica os totais ao final, com a tag
+ * handler = Controller.metodo. Em handlers assíncronos o contador atravessa o dispatch ASYNC
+ * (guardado como atributo da requisição) e os totais são publicados na conclusão desse dispatch.
+ * */
+public class SqlMetricsHandlerInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ATTRIBUTE = SqlMetrics.class.getName();
+
+    private final Meter.MeterProvider<DistributionSummary> statements;
+    private final Meter.MeterProvider<Timer> jdbcTime;
+    private final Meter.MeterProvider<DistributionSummary> entityLoads;
+
+    public SqlMetricsHandlerInterceptor(MeterRegistry registry) {
+        this.statements = DistributionSummary.builder("park.sql.statements")
+                .description("Comandos SQL executados por requisição")
+                .withRegistry(registry);
+        this.jdbcTime = Timer.builder("park.sql.jdbc.time")
+                .description("Tempo gasto no JDBC por requisição")
+                .withRegistry(registry);
+        this.entityLoads = DistributionSummary.builder("park.sql.entity.loads")
+                .description("Entidades carregadas pelo Hibernate por requisição")
+                .withRegistry(registry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        SqlMetrics metrics = (SqlMetrics) request.getAttribute(ATTRIBUTE);
+        if (metrics == null || request.getDispatcherType() == DispatcherType.REQUEST) {
+            metrics = new SqlMetrics();
+            request.setAttribute(ATTRIBUTE, metrics);
+        }
+        SqlMetrics.bind(metrics);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlMetrics.unbind();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        SqlMetrics.unbind();
+        SqlMetrics metrics = (SqlMetrics) request.getAttribute(ATTRIBUTE);
+        if (metrics == null || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        String tag = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        statements.withTags("handler", tag).record(metrics.getStatements());
+        jdbcTime.withTags("handler", tag).record(metrics.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        entityLoads.withTags("handler", tag).record(metrics.getEntityLoads());
+    }
+}
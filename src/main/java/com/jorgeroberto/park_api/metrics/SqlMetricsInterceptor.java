@@ -0,0 +1,17 @@
+package com.jorgeroberto.park_api.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+//Conta as entidades hidratadas pelo Hibernate (instância única, compartilhada entre as sessões)
+public class SqlMetricsInterceptor implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        SqlMetrics metrics = SqlMetrics.current();
+        if (metrics != null) {
+            metrics.entityLoaded();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,39 @@
+package com.jorgeroberto.park_api.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/*
+ * Registrado pelo Hibernate em cada sessão (hibernate.session.events.auto) para contar os comandos JDBC
+ * e o tempo de execução. Uma sessão é usada por uma thread por vez, então o início fica em um campo simples.
+ * */
+public class SqlMetricsSessionEventListener implements SessionEventListener {
+
+    private long start;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        SqlMetrics metrics = SqlMetrics.current();
+        if (metrics != null) {
+            metrics.statementExecuted(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.jorgeroberto.park_api.repositories;
+
+import com.jorgeroberto.park_api.entities.CustomerParkingSpace;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CustomerParkingSpaceRepository extends JpaRepository<CustomerParkingSpace, Long> {
+
+    Optional<CustomerParkingSpace> findByReceipt(String receipt);
+
+    Optional<CustomerParkingSpace> findByReceiptAndExitDateIsNull(String receipt);
+}
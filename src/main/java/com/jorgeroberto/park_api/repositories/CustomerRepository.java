@@ -2,17 +2,43 @@ package com.jorgeroberto.park_api.repositories;
 
 import com.jorgeroberto.park_api.entities.Customer;
 import com.jorgeroberto.park_api.repositories.projection.CustomerProjection;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
-    @Query("select c from Customer c")
+    //Projeção só com as colunas do DTO: sem carregar a entidade (nem o usuário associado) por linha
+    @Query(value = "select c.id as id, c.name as name, c.cpf as cpf from Customer c",
+            countQuery = "select count(c) from Customer c")
     Page<CustomerProjection> findAllPageable(Pageable pageable);
 
+    //Paginação por keyset sobre (name, id), sem consulta de count; usa o índice idx_customers_name_id
+    @Query("select c.id as id, c.name as name, c.cpf as cpf from Customer c order by c.name, c.id")
+    List<CustomerProjection> findAllOrderByNameAndId(Limit limit);
+
+    @Query("select c.id as id, c.name as name, c.cpf as cpf from Customer c " +
+            "where c.name > :name or (c.name = :name and c.id > :id) order by c.name, c.id")
+    List<CustomerProjection> findAllAfter(String name, Long id, Limit limit);
+
     Customer findByUserId(Long id);
+
+    Optional<Customer> findByCpf(String cpf);
+
+    boolean existsByCpf(String cpf);
+
+    @Query("select c.cpf from Customer c where c.cpf in :cpfs")
+    List<String> findCpfsByCpfIn(Collection<String> cpfs);
+
+    //Keyset por id, usado na carga do filtro de CPFs (UniqueKeyIndex)
+    @Query("select c.id as id, c.name as name, c.cpf as cpf from Customer c where c.id > :id order by c.id")
+    List<CustomerProjection> findCpfsAfter(Long id, Limit limit);
 }
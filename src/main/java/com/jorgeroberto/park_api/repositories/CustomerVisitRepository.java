@@ -0,0 +1,24 @@
+package com.jorgeroberto.park_api.repositories;
+
+import com.jorgeroberto.park_api.entities.CustomerVisit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface CustomerVisitRepository extends JpaRepository<CustomerVisit, CustomerVisit.Key> {
+
+    //Percorre o índice (customer_id, entry_date) de trás para frente; o total da página vem de customer_visit_stats
+    List<CustomerVisit> findByCustomerIdOrderByEntryDateDesc(Long customerId, Pageable pageable);
+
+    //Carga inicial das estadias encerradas antes de o histórico existir (CustomerVisitService.backfill)
+    @Modifying
+    @Query(value = "insert into customer_visit_history " +
+            "(receipt, entry_date, exit_date, customer_id, parking_space_code, plate, fee, discount) " +
+            "select c.receipt, c.entry_date, c.exit_date, c.id_customer, p.code, c.plate, c.fee, c.discount " +
+            "from customer_parking_space c join parking_space p on p.id = c.id_parking_space " +
+            "where c.exit_date is not null", nativeQuery = true)
+    int copyCompletedStays();
+}
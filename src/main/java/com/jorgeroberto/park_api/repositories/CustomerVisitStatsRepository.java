@@ -0,0 +1,45 @@
+package com.jorgeroberto.park_api.repositories;
+
+import com.jorgeroberto.park_api.entities.CustomerVisitStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface CustomerVisitStatsRepository extends JpaRepository<CustomerVisitStats, Long> {
+
+    @Query("select s.visitCount from CustomerVisitStats s where s.customerId = :customerId")
+    Optional<Long> findVisitCount(Long customerId);
+
+    /*
+     * Soma uma estadia aos totais do cliente, criando a linha na primeira: um único comando atômico, então
+     * check-outs simultâneos do mesmo cliente (inclusive o primeiro) não perdem atualização nem colidem na chave.
+     * Há uma versão por banco; CustomerVisitService escolhe pelo dialeto.
+     * */
+    @Modifying
+    @Query(value = "insert into customer_visit_stats (customer_id, visit_count, total_spent, last_visit) " +
+            "values (:customerId, 1, :spent, :exitDate) on duplicate key update visit_count = visit_count + 1, " +
+            "total_spent = total_spent + :spent, last_visit = :exitDate", nativeQuery = true)
+    void upsertMySql(Long customerId, BigDecimal spent, LocalDateTime exitDate);
+
+    @Modifying
+    @Query(value = "merge into customer_visit_stats s using (select cast(:customerId as bigint) as customer_id) v " +
+            "on s.customer_id = v.customer_id " +
+            "when matched then update set visit_count = s.visit_count + 1, total_spent = s.total_spent + :spent, " +
+            "last_visit = :exitDate " +
+            "when not matched then insert (customer_id, visit_count, total_spent, last_visit) " +
+            "values (:customerId, 1, :spent, :exitDate)", nativeQuery = true)
+    void merge(Long customerId, BigDecimal spent, LocalDateTime exitDate);
+
+    @Query(value = "select 1 from customer_visit_stats limit 1", nativeQuery = true)
+    Optional<Integer> findAny();
+
+    @Modifying
+    @Query(value = "insert into customer_visit_stats (customer_id, visit_count, total_spent, last_visit) " +
+            "select customer_id, count(*), sum(coalesce(fee, 0) - coalesce(discount, 0)), max(exit_date) " +
+            "from customer_visit_history group by customer_id", nativeQuery = true)
+    int rebuildFromHistory();
+}
@@ -0,0 +1,32 @@
+package com.jorgeroberto.park_api.repositories;
+
+import com.jorgeroberto.park_api.entities.OccupancyRollupPending;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface OccupancyRollupPendingRepository extends JpaRepository<OccupancyRollupPending, Long> {
+
+    //SELECT ... FOR UPDATE: outra instância drenando ao mesmo tempo espera e depois não vê as linhas já apagadas
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from OccupancyRollupPending p order by p.id")
+    List<OccupancyRollupPending> findOldest(Limit limit);
+
+    @Query(value = "select 1 from occupancy_rollup_pending limit 1", nativeQuery = true)
+    Optional<Integer> findAny();
+
+    //Carga inicial das estadias encerradas antes dos agregados existirem (OccupancyRollupService.backfill)
+    @Modifying
+    @Query(value = "insert into occupancy_rollup_pending (level, entry_date, exit_date, spent) " +
+            "select substring(p.code, 1, locate('-', p.code)), c.entry_date, c.exit_date, " +
+            "coalesce(c.fee, 0) - coalesce(c.discount, 0) " +
+            "from customer_parking_space c join parking_space p on p.id = c.id_parking_space " +
+            "where c.exit_date is not null", nativeQuery = true)
+    int copyCompletedStays();
+}
@@ -0,0 +1,20 @@
+package com.jorgeroberto.park_api.repositories;
+
+import com.jorgeroberto.park_api.entities.OccupancyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface OccupancyRollupRepository extends JpaRepository<OccupancyRollup, OccupancyRollup.Key> {
+
+    //Intervalo [from, to) pelo índice idx_occupancy_rollup_granularity_bucket (granularity, bucket_start, level)
+    @Query("select r from OccupancyRollup r where r.granularity = :granularity " +
+            "and r.bucketStart >= :from and r.bucketStart < :to order by r.bucketStart, r.level")
+    List<OccupancyRollup> findRange(OccupancyRollup.Granularity granularity, LocalDateTime from, LocalDateTime to);
+
+    @Query(value = "select 1 from occupancy_rollup limit 1", nativeQuery = true)
+    Optional<Integer> findAny();
+}
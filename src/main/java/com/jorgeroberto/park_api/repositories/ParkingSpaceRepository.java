@@ -1,10 +1,38 @@
 package com.jorgeroberto.park_api.repositories;
 
 import com.jorgeroberto.park_api.entities.ParkingSpace;
+import com.jorgeroberto.park_api.repositories.projection.OccupancyProjection;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ParkingSpaceRepository extends JpaRepository<ParkingSpace, Long> {
     Optional<ParkingSpace> findByCode(String code);
+
+    @Query("select p.code from ParkingSpace p where p.status = :status")
+    List<String> findCodesByStatus(ParkingSpace.ParkingStatus status);
+
+    @Query("select p.code from ParkingSpace p where p.status = :status")
+    List<String> findCodesByStatus(ParkingSpace.ParkingStatus status, Limit limit);
+
+    @Query("select p.code from ParkingSpace p where p.status = :status and p.code not in :excluded")
+    List<String> findCodesByStatusAndCodeNotIn(ParkingSpace.ParkingStatus status, Collection<String> excluded, Limit limit);
+
+    @Query("select p.code from ParkingSpace p where p.code in :codes")
+    List<String> findCodesByCodeIn(Collection<String> codes);
+
+    //Total de vagas por nível (prefixo do código até o '-', ex.: "A-") e status, em uma única consulta
+    @Query("select substring(p.code, 1, locate('-', p.code)) as level, p.status as status, count(p) as total " +
+            "from ParkingSpace p group by substring(p.code, 1, locate('-', p.code)), p.status")
+    List<OccupancyProjection> countByLevelAndStatus();
+
+    //Troca condicional de status: retorna 0 se a vaga não estava mais no status esperado
+    @Modifying
+    @Query("update ParkingSpace p set p.status = :to where p.code = :code and p.status = :from")
+    int updateStatus(String code, ParkingSpace.ParkingStatus from, ParkingSpace.ParkingStatus to);
 }
@@ -0,0 +1,21 @@
+package com.jorgeroberto.park_api.repositories;
+
+import com.jorgeroberto.park_api.entities.ReceiptCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface ReceiptCounterRepository extends JpaRepository<ReceiptCounter, String> {
+
+    //Avança o contador; o lock da linha vale até o commit, então a leitura seguinte vê o próprio incremento
+    @Modifying
+    @Query("update ReceiptCounter c set c.nextValue = c.nextValue + :size where c.name = :name")
+    int increment(String name, long size);
+
+    @Query("select c.nextValue from ReceiptCounter c where c.name = :name")
+    long findNextValue(String name);
+
+    @Modifying
+    @Query(value = "insert into receipt_counter (name, next_value) values (:name, :nextValue)", nativeQuery = true)
+    void insert(String name, long nextValue);
+}
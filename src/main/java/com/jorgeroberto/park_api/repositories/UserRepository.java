@@ -1,16 +1,32 @@
 package com.jorgeroberto.park_api.repositories;
 
 import com.jorgeroberto.park_api.entities.User;
+import com.jorgeroberto.park_api.repositories.projection.UserProjection;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
 
-    @Query("select u.role from User u where u.username like :username")
-    User.Role findRoleByUsername(String username);
+    boolean existsByUsername(String username);
+
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findUsernamesByUsernameIn(Collection<String> usernames);
+
+    @Query(value = "select u.id as id, u.username as username, u.role as role from User u",
+            countQuery = "select count(u) from User u")
+    Page<UserProjection> findAllPageable(Pageable pageable);
+
+    //Paginação por keyset (id > último id lido), usada no streaming de usuários
+    @Query("select u.id as id, u.username as username, u.role as role from User u where u.id > :id order by u.id")
+    List<UserProjection> findAllAfter(Long id, Limit limit);
 }
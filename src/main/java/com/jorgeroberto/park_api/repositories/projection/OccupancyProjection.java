@@ -0,0 +1,9 @@
+package com.jorgeroberto.park_api.repositories.projection;
+
+import com.jorgeroberto.park_api.entities.ParkingSpace;
+
+public interface OccupancyProjection {
+    String getLevel();
+    ParkingSpace.ParkingStatus getStatus();
+    Long getTotal();
+}
@@ -0,0 +1,9 @@
+package com.jorgeroberto.park_api.repositories.projection;
+
+import com.jorgeroberto.park_api.entities.User;
+
+public interface UserProjection {
+    Long getId();
+    String getUsername();
+    User.Role getRole();
+}
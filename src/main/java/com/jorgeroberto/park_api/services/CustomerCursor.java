@@ -0,0 +1,43 @@
+package com.jorgeroberto.park_api.services;
+
+import com.jorgeroberto.park_api.exceptions.InvalidCursorException;
+import com.jorgeroberto.park_api.repositories.projection.CustomerProjection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/*
+ * Chave de ordenação (name, id) do último cliente de uma página no modo cursor.
+ * Trafega como token opaco: Base64 URL-safe de "id:name".
+ * */
+@Getter
+@AllArgsConstructor
+public class CustomerCursor {
+    private final String name;
+    private final Long id;
+
+    public static CustomerCursor of(CustomerProjection customer) {
+        return new CustomerCursor(customer.getName(), customer.getId());
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((id + ":" + name).getBytes(StandardCharsets.UTF_8));
+    }
+
+    //Token vazio indica a primeira página e retorna null
+    public static CustomerCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = key.indexOf(':');
+            return new CustomerCursor(key.substring(separator + 1), Long.valueOf(key.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException(String.format("Cursor inválido: %s", token));
+        }
+    }
+}
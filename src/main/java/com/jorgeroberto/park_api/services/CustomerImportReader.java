@@ -0,0 +1,138 @@
+package com.jorgeroberto.park_api.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/*
+ * Lê o arquivo de importação linha a linha, direto do corpo da requisição, sem carregá-lo inteiro.
+ * CSV: colunas name,cpf,username,password, cabeçalho opcional, campos entre aspas com "" para aspas literais.
+ * NDJSON: um objeto {"name", "cpf", "username", "password"} por linha. Linhas em branco são ignoradas.
+ * */
+public abstract class CustomerImportReader implements Iterator<CustomerImportRow>, Closeable {
+    private static final String CSV_HEADER = "name,cpf,username,password";
+
+    private final BufferedReader reader;
+    private long lineNumber;
+    private CustomerImportRow next;
+
+    protected CustomerImportReader(InputStream inputStream) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    public static CustomerImportReader csv(InputStream inputStream) {
+        return new CustomerImportReader(inputStream) {
+            @Override
+            protected CustomerImportRow parse(long line, String content) {
+                if (line == 1 && content.replace(" ", "").equalsIgnoreCase(CSV_HEADER)) {
+                    return null;
+                }
+                List<String> columns = splitCsv(content);
+                if (columns == null || columns.size() != 4) {
+                    return CustomerImportRow.malformed(line, "Linha CSV deve ter 4 colunas: " + CSV_HEADER);
+                }
+                return new CustomerImportRow(line, columns.get(0), columns.get(1), columns.get(2), columns.get(3), null);
+            }
+        };
+    }
+
+    public static CustomerImportReader ndjson(InputStream inputStream, ObjectMapper objectMapper) {
+        return new CustomerImportReader(inputStream) {
+            @Override
+            protected CustomerImportRow parse(long line, String content) {
+                try {
+                    JsonNode node = objectMapper.readTree(content);
+                    if (!node.isObject()) {
+                        return CustomerImportRow.malformed(line, "Linha NDJSON deve ser um objeto JSON");
+                    }
+                    return new CustomerImportRow(line, text(node, "name"), text(node, "cpf"),
+                            text(node, "username"), text(node, "password"), null);
+                } catch (IOException e) {
+                    return CustomerImportRow.malformed(line, "JSON inválido");
+                }
+            }
+        };
+    }
+
+    //Retorna null para linhas que não são dados (cabeçalho)
+    protected abstract CustomerImportRow parse(long line, String content);
+
+    @Override
+    public boolean hasNext() {
+        try {
+            String content;
+            while (next == null && (content = reader.readLine()) != null) {
+                lineNumber++;
+                if (!content.isBlank()) {
+                    next = parse(lineNumber, content.strip());
+                }
+            }
+            return next != null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public CustomerImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        CustomerImportRow row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    //Separa uma linha CSV; null se houver aspas sem fechamento
+    private static List<String> splitCsv(String content) {
+        List<String> columns = new ArrayList<>(4);
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < content.length() && content.charAt(i + 1) == '"') {
+                    column.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    column.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                columns.add(column.toString().strip());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        columns.add(column.toString().strip());
+        return columns;
+    }
+}
@@ -0,0 +1,27 @@
+package com.jorgeroberto.park_api.services;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Resultado da importação: totais e uma entrada por linha rejeitada, em ordem de linha. As linhas
+ * cadastradas entram só no total, para que a resposta de um arquivo de 100 mil linhas não repita o arquivo.
+ * */
+@Getter
+public class CustomerImportReport {
+    private long total;
+    private long created;
+    private final List<CustomerImportResult> rejected = new ArrayList<>();
+
+    void addCreated(int count) {
+        total += count;
+        created += count;
+    }
+
+    void addRejected(CustomerImportResult result) {
+        total++;
+        rejected.add(result);
+    }
+}
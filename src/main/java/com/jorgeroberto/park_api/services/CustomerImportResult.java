@@ -0,0 +1,28 @@
+package com.jorgeroberto.park_api.services;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//Resultado de uma linha da importação de clientes que não foi cadastrada
+@Getter
+@AllArgsConstructor
+public class CustomerImportResult {
+    private final long line;
+    private final String username;
+    private final String cpf;
+    private final Status status;
+    private final String message;
+
+    public enum Status {
+        CONFLICT,
+        INVALID
+    }
+
+    static CustomerImportResult invalid(CustomerImportRow row, String message) {
+        return new CustomerImportResult(row.getLine(), row.getUsername(), row.getCpf(), Status.INVALID, message);
+    }
+
+    static CustomerImportResult conflict(CustomerImportRow row, String message) {
+        return new CustomerImportResult(row.getLine(), row.getUsername(), row.getCpf(), Status.CONFLICT, message);
+    }
+}
@@ -0,0 +1,40 @@
+package com.jorgeroberto.park_api.services;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.hibernate.validator.constraints.br.CPF;
+
+//Linha do arquivo de importação de clientes; mesmas regras de UserCreateDto e CustomerCreateDto
+@Getter
+@AllArgsConstructor
+public class CustomerImportRow {
+    private final long line;
+
+    @NotBlank
+    @Size(min = 5, max = 100)
+    private final String name;
+
+    @NotBlank
+    @Size(min = 11, max = 11)
+    @CPF
+    private final String cpf;
+
+    @NotBlank
+    @Email(message = "Formato de email inválido!")
+    @Size(max = 100)
+    private final String username;
+
+    @NotBlank
+    @Size(min = 6, max = 6, message = "A senha deve ter 6 caracteres")
+    private final String password;
+
+    //Linha que não pôde ser lida (colunas faltando, JSON inválido); os demais campos ficam nulos
+    private final String parseError;
+
+    static CustomerImportRow malformed(long line, String parseError) {
+        return new CustomerImportRow(line, null, null, null, null, parseError);
+    }
+}
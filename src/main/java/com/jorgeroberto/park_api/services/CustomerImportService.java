@@ -0,0 +1,182 @@
+package com.jorgeroberto.park_api.services;
+
+import com.jorgeroberto.park_api.repositories.CustomerRepository;
+import com.jorgeroberto.park_api.repositories.UserRepository;
+import com.jorgeroberto.park_api.services.CustomerImportWriter.EncodedRow;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/*
+ * Importação de clientes (usuário + cliente por linha) em blocos de park.customers.import.batch-size linhas,
+ * lidos do arquivo à medida que chegam. Em cada bloco:
+ *  - linhas inválidas viram INVALID; CPF ou username repetido no bloco ou já cadastrado vira CONFLICT
+ *    (só as chaves que o UniqueKeyIndex acusa como possíveis repetidas vão ao banco, em uma consulta IN);
+ *  - as senhas são codificadas em paralelo no customerImportHashingExecutor;
+ *  - o bloco é gravado em uma transação (CustomerImportWriter). Se outra requisição cadastrar uma das chaves
+ *    nesse meio tempo, o bloco é desfeito e as linhas são regravadas uma a uma, isolando os conflitos.
+ * Repetições entre blocos são vistas pelo filtro, atualizado a cada bloco gravado.
+ * */
+@Slf4j
+@Service
+public class CustomerImportService {
+
+    private final CustomerImportWriter customerImportWriter;
+    private final UniqueKeyIndex uniqueKeyIndex;
+    private final CustomerRepository customerRepository;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final Executor hashingExecutor;
+    private final int batchSize;
+
+    public CustomerImportService(CustomerImportWriter customerImportWriter,
+                                 UniqueKeyIndex uniqueKeyIndex,
+                                 CustomerRepository customerRepository,
+                                 UserRepository userRepository,
+                                 PasswordEncoder passwordEncoder,
+                                 Validator validator,
+                                 @Qualifier("customerImportHashingExecutor") Executor hashingExecutor,
+                                 @Value("${park.customers.import.batch-size:500}") int batchSize) {
+        this.customerImportWriter = customerImportWriter;
+        this.uniqueKeyIndex = uniqueKeyIndex;
+        this.customerRepository = customerRepository;
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.hashingExecutor = hashingExecutor;
+        this.batchSize = batchSize;
+    }
+
+    public CustomerImportReport importCustomers(Iterator<CustomerImportRow> rows) {
+        CustomerImportReport report = new CustomerImportReport();
+        List<CustomerImportRow> chunk = new ArrayList<>(batchSize);
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == batchSize) {
+                importChunk(chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, report);
+        }
+        log.info("Importação de clientes: {} linhas, {} cadastradas, {} rejeitadas",
+                report.getTotal(), report.getCreated(), report.getRejected().size());
+        return report;
+    }
+
+    private void importChunk(List<CustomerImportRow> chunk, CustomerImportReport report) {
+        List<CustomerImportResult> rejected = new ArrayList<>();
+        List<CustomerImportRow> valid = new ArrayList<>(chunk.size());
+        for (CustomerImportRow row : chunk) {
+            String error = validate(row);
+            if (error != null) {
+                rejected.add(CustomerImportResult.invalid(row, error));
+            } else {
+                valid.add(row);
+            }
+        }
+
+        Set<String> existingCpfs = new HashSet<>(existing(valid, CustomerImportRow::getCpf,
+                uniqueKeyIndex::mightContainCpf, customerRepository::findCpfsByCpfIn));
+        Set<String> existingUsernames = new HashSet<>(existing(valid, CustomerImportRow::getUsername,
+                uniqueKeyIndex::mightContainUsername, userRepository::findUsernamesByUsernameIn));
+        Set<String> seenCpfs = new HashSet<>();
+        Set<String> seenUsernames = new HashSet<>();
+        List<CustomerImportRow> pending = new ArrayList<>(valid.size());
+        for (CustomerImportRow row : valid) {
+            if (existingCpfs.contains(row.getCpf()) || !seenCpfs.add(row.getCpf())) {
+                rejected.add(CustomerImportResult.conflict(row, String.format("CPF %s ja cadastrado no sistema", row.getCpf())));
+            } else if (existingUsernames.contains(row.getUsername()) || !seenUsernames.add(row.getUsername())) {
+                rejected.add(CustomerImportResult.conflict(row, String.format("Username {%s} already exists", row.getUsername())));
+            } else {
+                pending.add(row);
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            List<EncodedRow> encoded = encode(pending);
+            try {
+                customerImportWriter.write(encoded);
+                encoded.forEach(this::index);
+                report.addCreated(encoded.size());
+            } catch (DataIntegrityViolationException e) {
+                log.info("Conflito de CPF ou username durante o bloco de {} clientes, gravando um a um", encoded.size());
+                for (EncodedRow row : encoded) {
+                    if (encoded.size() > 1 && writeOne(row)) {
+                        report.addCreated(1);
+                    } else {
+                        rejected.add(CustomerImportResult.conflict(row.getRow(), "CPF ou username ja cadastrado no sistema"));
+                    }
+                }
+            }
+        }
+
+        rejected.sort(Comparator.comparingLong(CustomerImportResult::getLine));
+        rejected.forEach(report::addRejected);
+    }
+
+    private boolean writeOne(EncodedRow row) {
+        try {
+            customerImportWriter.write(List.of(row));
+            index(row);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    private String validate(CustomerImportRow row) {
+        if (row.getParseError() != null) {
+            return row.getParseError();
+        }
+        Set<ConstraintViolation<CustomerImportRow>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    //Chaves do bloco que já existem no banco; só as que o filtro não descarta são consultadas
+    private static List<String> existing(List<CustomerImportRow> rows,
+                                         Function<CustomerImportRow, String> key,
+                                         Predicate<String> mightContain,
+                                         Function<List<String>, List<String>> query) {
+        List<String> candidates = rows.stream().map(key).filter(mightContain).distinct().toList();
+        return candidates.isEmpty() ? List.of() : query.apply(candidates);
+    }
+
+    private List<EncodedRow> encode(List<CustomerImportRow> rows) {
+        List<CompletableFuture<EncodedRow>> futures = rows.stream()
+                .map(row -> CompletableFuture.supplyAsync(
+                        () -> new EncodedRow(row, passwordEncoder.encode(row.getPassword())), hashingExecutor))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private void index(EncodedRow row) {
+        uniqueKeyIndex.addCpf(row.getRow().getCpf());
+        uniqueKeyIndex.addUsername(row.getRow().getUsername());
+    }
+}
@@ -0,0 +1,78 @@
+package com.jorgeroberto.park_api.services;
+
+import com.jorgeroberto.park_api.entities.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/*
+ * Grava um bloco da importação (usuário + cliente por linha) em uma transação. User e Customer usam ids
+ * IDENTITY, com os quais o Hibernate desliga o batch de INSERTs; por isso o bloco vai por JdbcTemplate:
+ * um batch de usuários, uma consulta dos ids gerados e um batch de clientes, seja qual for o tamanho do bloco.
+ * Preenche as colunas de auditoria como o AuditingEntityListener faria.
+ * */
+@RequiredArgsConstructor
+@Component
+public class CustomerImportWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final AuditorAware<String> auditorAware;
+
+    //Linha já validada, com a senha codificada
+    @Getter
+    @AllArgsConstructor
+    static class EncodedRow {
+        private final CustomerImportRow row;
+        private final String encodedPassword;
+    }
+
+    @Transactional
+    public void write(List<EncodedRow> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        // o SpringAuditingConfig devolve null (e não Optional.empty()) sem autenticação
+        Optional<String> currentAuditor = auditorAware.getCurrentAuditor();
+        String auditor = currentAuditor != null ? currentAuditor.orElse(null) : null;
+
+        jdbcTemplate.batchUpdate("insert into users (username, password, role, created_at, updated_at, created_by, updated_by) " +
+                "values (?, ?, ?, ?, ?, ?, ?)", rows, rows.size(), (ps, encoded) -> {
+            ps.setString(1, encoded.getRow().getUsername());
+            ps.setString(2, encoded.getEncodedPassword());
+            ps.setString(3, User.Role.ROLE_CUSTOMER.name());
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, now);
+            ps.setString(6, auditor);
+            ps.setString(7, auditor);
+        });
+
+        Map<String, Long> userIds = new HashMap<>();
+        namedParameterJdbcTemplate.query("select id, username from users where username in (:usernames)",
+                Map.of("usernames", rows.stream().map(encoded -> encoded.getRow().getUsername()).toList()),
+                rs -> {
+                    userIds.put(rs.getString("username"), rs.getLong("id"));
+                });
+
+        jdbcTemplate.batchUpdate("insert into customers (name, cpf, id_user, created_at, updated_at, created_by, updated_by) " +
+                "values (?, ?, ?, ?, ?, ?, ?)", rows, rows.size(), (ps, encoded) -> {
+            ps.setString(1, encoded.getRow().getName());
+            ps.setString(2, encoded.getRow().getCpf());
+            ps.setLong(3, userIds.get(encoded.getRow().getUsername()));
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, now);
+            ps.setString(6, auditor);
+            ps.setString(7, auditor);
+        });
+    }
+}
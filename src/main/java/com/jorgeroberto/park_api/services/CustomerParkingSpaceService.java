@@ -0,0 +1,36 @@
+package com.jorgeroberto.park_api.services;
+
+import com.jorgeroberto.park_api.entities.CustomerParkingSpace;
+import com.jorgeroberto.park_api.exceptions.EntityNotFoundException;
+import com.jorgeroberto.park_api.repositories.CustomerParkingSpaceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+@Service
+public class CustomerParkingSpaceService {
+
+    private final CustomerParkingSpaceRepository repository;
+
+    @Transactional
+    public CustomerParkingSpace save(CustomerParkingSpace customerParkingSpace) {
+        return repository.save(customerParkingSpace);
+    }
+
+    @Transactional(readOnly = true)
+    public CustomerParkingSpace findByReceipt(String receipt) {
+        return repository.findByReceipt(receipt).orElseThrow(
+                () -> new EntityNotFoundException(String.format("Receipt %s not found", receipt))
+        );
+    }
+
+    //Apenas estadias em aberto (sem check-out) podem ser encerradas
+    @Transactional(readOnly = true)
+    public CustomerParkingSpace findOpenByReceipt(String receipt) {
+        return repository.findByReceiptAndExitDateIsNull(receipt).orElseThrow(
+                () -> new EntityNotFoundException(
+                        String.format("Receipt %s not found or check-out already done", receipt))
+        );
+    }
+}
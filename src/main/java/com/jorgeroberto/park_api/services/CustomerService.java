@@ -2,11 +2,12 @@ package com.jorgeroberto.park_api.services;
 
 import com.jorgeroberto.park_api.entities.Customer;
 import com.jorgeroberto.park_api.exceptions.CpfUniqueViolationException;
+import com.jorgeroberto.park_api.exceptions.EntityNotFoundException;
 import com.jorgeroberto.park_api.repositories.CustomerRepository;
 import com.jorgeroberto.park_api.repositories.projection.CustomerProjection;
-import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -19,18 +20,27 @@ import java.util.List;
 public class CustomerService {
 
     private final CustomerRepository customerRepository;
+    private final UniqueKeyIndex uniqueKeyIndex;
 
+    //CPF provavelmente repetido (filtro) é confirmado por consulta antes do INSERT; a constraint segue como garantia
     @Transactional
     public Customer save(Customer obj) {
+        if (uniqueKeyIndex.mightContainCpf(obj.getCpf()) && customerRepository.existsByCpf(obj.getCpf())) {
+            throw cpfUniqueViolation(obj.getCpf());
+        }
         try {
-            return customerRepository.save(obj);
+            Customer saved = customerRepository.save(obj);
+            uniqueKeyIndex.addCpf(saved.getCpf());
+            return saved;
         } catch (DataIntegrityViolationException ex) {
-            throw new CpfUniqueViolationException(
-                    String.format("CPF %s ja cadastrado no sistema", obj.getCpf())
-            );
+            throw cpfUniqueViolation(obj.getCpf());
         }
     }
 
+    private static CpfUniqueViolationException cpfUniqueViolation(String cpf) {
+        return new CpfUniqueViolationException(String.format("CPF %s ja cadastrado no sistema", cpf));
+    }
+
     @Transactional(readOnly = true)
     public Customer findById(Long id) {
         return customerRepository.findById(id).orElseThrow(
@@ -44,8 +54,24 @@ public class CustomerService {
         return customerRepository.findAllPageable(pageable);
     }
 
+    //Modo cursor: retorna até limit clientes após o cursor (ou do início, se o cursor for null)
+    @Transactional(readOnly = true)
+    public List<CustomerProjection> findAll(CustomerCursor after, int limit) {
+        if (after == null) {
+            return customerRepository.findAllOrderByNameAndId(Limit.of(limit));
+        }
+        return customerRepository.findAllAfter(after.getName(), after.getId(), Limit.of(limit));
+    }
+
     @Transactional(readOnly = true)
     public Customer findByUserId(Long id) {
         return customerRepository.findByUserId(id);
     }
+
+    @Transactional(readOnly = true)
+    public Customer findByCpf(String cpf) {
+        return customerRepository.findByCpf(cpf).orElseThrow(
+                () -> new EntityNotFoundException(String.format("Customer with CPF=%s not found", cpf))
+        );
+    }
 }
@@ -0,0 +1,81 @@
+package com.jorgeroberto.park_api.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.StringJoiner;
+
+/*
+ * Partições mensais (RANGE COLUMNS por entry_date) de customer_visit_history no MySQL: o histórico de um cliente
+ * em um período só lê as partições dos meses pedidos, e meses antigos podem ser arquivados com DROP PARTITION
+ * em vez de DELETE. Na primeira subida a tabela, ainda sem partições (criada por schema-mysql.sql no perfil prod ou pelo
+ * ddl-auto=update fora dele), é particionada (um mês por partição desde a estadia mais antiga); depois, diariamente,
+ * a partição pmax é dividida para manter months-ahead meses à frente.
+ * Em outros bancos (H2 nos testes) a tabela fica sem partições, só com o índice (customer_id, entry_date).
+ * */
+@Slf4j
+@Component
+public class CustomerVisitPartitionManager {
+
+    private static final String TABLE = "customer_visit_history";
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean mysql;
+    private final int monthsAhead;
+
+    public CustomerVisitPartitionManager(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                                         @Value("${park.customers.history.partition-months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mysql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof MySQLDialect;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${park.customers.history.partition-cron:0 30 3 * * *}")
+    public void maintain() {
+        if (!mysql) {
+            return;
+        }
+        YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+        List<String> partitions = jdbcTemplate.queryForList("select partition_name from information_schema.partitions " +
+                "where table_schema = database() and table_name = ? and partition_name is not null " +
+                "order by partition_ordinal_position", String.class, TABLE);
+
+        if (partitions.isEmpty()) {
+            LocalDateTime oldest = jdbcTemplate.queryForObject("select min(entry_date) from " + TABLE, LocalDateTime.class);
+            YearMonth first = oldest != null ? YearMonth.from(oldest) : YearMonth.now();
+            jdbcTemplate.execute("alter table " + TABLE + " partition by range columns(entry_date) (" + ranges(first, last) + ")");
+            log.info("Tabela {} particionada por mês de {} a {}", TABLE, first, last);
+            return;
+        }
+
+        // pmax é sempre a última; a anterior é o último mês já coberto
+        YearMonth covered = YearMonth.parse(partitions.get(partitions.size() - 2).substring(1), PARTITION_MONTH);
+        if (covered.isBefore(last)) {
+            jdbcTemplate.execute("alter table " + TABLE + " reorganize partition pmax into (" + ranges(covered.plusMonths(1), last) + ")");
+            log.info("Partições de {} criadas de {} a {}", TABLE, covered.plusMonths(1), last);
+        }
+    }
+
+    private static String ranges(YearMonth from, YearMonth to) {
+        StringJoiner ranges = new StringJoiner(", ");
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            ranges.add("partition p" + month.format(PARTITION_MONTH) + " values less than ('" + month.plusMonths(1).atDay(1) + "')");
+        }
+        return ranges.add("partition pmax values less than (maxvalue)").toString();
+    }
+}
@@ -0,0 +1,109 @@
+package com.jorgeroberto.park_api.services;
+
+import com.jorgeroberto.park_api.entities.CustomerParkingSpace;
+import com.jorgeroberto.park_api.entities.CustomerVisit;
+import com.jorgeroberto.park_api.entities.CustomerVisitStats;
+import com.jorgeroberto.park_api.repositories.CustomerVisitRepository;
+import com.jorgeroberto.park_api.repositories.CustomerVisitStatsRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/*
+ * Histórico de estadias por cliente e os totais mantidos junto com ele. Cada check-out insere uma linha no
+ * histórico e incrementa customer_visit_stats na mesma transação; as leituras de resumo (e a contagem do
+ * desconto de fidelidade) usam só a linha de totais do cliente.
+ * */
+@Slf4j
+@Service
+public class CustomerVisitService {
+
+    private final CustomerVisitRepository visitRepository;
+    private final CustomerVisitStatsRepository statsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean mysql;
+
+    public CustomerVisitService(CustomerVisitRepository visitRepository, CustomerVisitStatsRepository statsRepository,
+                                TransactionTemplate transactionTemplate, EntityManagerFactory entityManagerFactory) {
+        this.visitRepository = visitRepository;
+        this.statsRepository = statsRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.mysql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof MySQLDialect;
+    }
+
+    @Transactional(readOnly = true)
+    public long countVisits(Long customerId) {
+        return statsRepository.findVisitCount(customerId).orElse(0L);
+    }
+
+    //Chamado dentro da transação do check-out; a linha de totais é criada ou incrementada por um único upsert
+    @Transactional
+    public void record(CustomerParkingSpace stay) {
+        Long customerId = stay.getCustomer().getId();
+        visitRepository.save(new CustomerVisit(stay.getReceipt(), stay.getEntryDate(), stay.getExitDate(), customerId,
+                stay.getParkingSpace().getCode(), stay.getPlate(), stay.getFee(), stay.getDiscount()));
+
+        BigDecimal spent = spent(stay.getFee(), stay.getDiscount());
+        if (mysql) {
+            statsRepository.upsertMySql(customerId, spent, stay.getExitDate());
+        } else {
+            statsRepository.merge(customerId, spent, stay.getExitDate());
+        }
+    }
+
+    //Página do histórico em ordem de entrada decrescente; o total de elementos é o visit_count, sem COUNT(*)
+    @Transactional(readOnly = true)
+    public Page<CustomerVisit> findByCustomerId(Long customerId, Pageable pageable) {
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        List<CustomerVisit> visits = visitRepository.findByCustomerIdOrderByEntryDateDesc(customerId, unsorted);
+        return new PageImpl<>(visits, unsorted, countVisits(customerId));
+    }
+
+    @Transactional(readOnly = true)
+    public CustomerVisitStats findStats(Long customerId) {
+        return statsRepository.findById(customerId).orElse(null);
+    }
+
+    /*
+     * Bases com estadias encerradas antes do histórico existir: na primeira subida com as tabelas vazias, copia
+     * as estadias de customer_parking_space e monta os totais a partir delas. Se outra instância fizer a
+     * mesma carga ao mesmo tempo, a chave primária duplicada desfaz esta e a dela prevalece.
+     * */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (statsRepository.findAny().isPresent()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int visits = visitRepository.copyCompletedStays();
+                int customers = visits > 0 ? statsRepository.rebuildFromHistory() : 0;
+                if (visits > 0) {
+                    log.info("Histórico de estadias carregado: {} estadias de {} clientes", visits, customers);
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.info("Histórico de estadias já carregado por outra instância");
+        }
+    }
+
+    private static BigDecimal spent(BigDecimal fee, BigDecimal discount) {
+        BigDecimal spent = fee != null ? fee : BigDecimal.ZERO;
+        return discount != null ? spent.subtract(discount) : spent;
+    }
+}
@@ -0,0 +1,92 @@
+package com.jorgeroberto.park_api.services;
+
+import com.jorgeroberto.park_api.entities.ParkingSpace;
+import com.jorgeroberto.park_api.events.ParkingSpaceStatusChangedEvent;
+import com.jorgeroberto.park_api.repositories.ParkingSpaceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/*
+ * Índice em memória, sem locks, dos códigos de vagas livres usado no check-in.
+ * Cada código retirado por poll() é entregue a uma única thread; o banco continua sendo a fonte da verdade
+ * e a ocupação só vale se o UPDATE condicional (FREE -> BUSY) afetar a linha.
+ * O índice é carregado na subida da aplicação, atualizado pelos eventos de status efetivados
+ * e reconciliado periodicamente com o banco.
+ * */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class FreeParkingSpaceIndex {
+
+    private final ParkingSpaceRepository parkingSpaceRepository;
+
+    private final Queue<String> queue = new ConcurrentLinkedQueue<>();
+    private final Set<String> members = ConcurrentHashMap.newKeySet();
+
+    //Retira um código livre do índice ou retorna null se o índice estiver vazio
+    public String poll() {
+        String code;
+        while ((code = queue.poll()) != null) {
+            // códigos removidos por remove() continuam na fila e são descartados aqui
+            if (members.remove(code)) {
+                return code;
+            }
+        }
+        return null;
+    }
+
+    public void offer(String code) {
+        if (members.add(code)) {
+            queue.offer(code);
+        }
+    }
+
+    public void remove(String code) {
+        members.remove(code);
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${park.parking.free-index.reconcile-ms:60000}",
+            fixedDelayString = "${park.parking.free-index.reconcile-ms:60000}")
+    public void reconcile() {
+        List<String> freeCodes = parkingSpaceRepository.findCodesByStatus(ParkingSpace.ParkingStatus.FREE);
+        Set<String> free = new HashSet<>(freeCodes);
+        members.removeIf(code -> !free.contains(code));
+        freeCodes.forEach(this::offer);
+        log.debug("Índice de vagas livres reconciliado: {} vagas", members.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusCommitted(ParkingSpaceStatusChangedEvent event) {
+        if (event.getCurrent() == ParkingSpace.ParkingStatus.FREE) {
+            offer(event.getCode());
+        } else {
+            remove(event.getCode());
+        }
+    }
+
+    //Devolve ao índice a vaga retirada por um check-in que não foi efetivado
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onStatusRolledBack(ParkingSpaceStatusChangedEvent event) {
+        if (event.getPrevious() == ParkingSpace.ParkingStatus.FREE) {
+            offer(event.getCode());
+        }
+    }
+}
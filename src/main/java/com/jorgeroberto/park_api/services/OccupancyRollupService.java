@@ -0,0 +1,192 @@
+package com.jorgeroberto.park_api.services;
+
+import com.jorgeroberto.park_api.entities.CustomerParkingSpace;
+import com.jorgeroberto.park_api.entities.OccupancyRollup;
+import com.jorgeroberto.park_api.entities.OccupancyRollup.Granularity;
+import com.jorgeroberto.park_api.entities.OccupancyRollupPending;
+import com.jorgeroberto.park_api.exceptions.InvalidReportRangeException;
+import com.jorgeroberto.park_api.repositories.OccupancyRollupPendingRepository;
+import com.jorgeroberto.park_api.repositories.OccupancyRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Agregados de ocupação e receita por hora e por dia (occupancy_rollup), mantidos de forma incremental:
+ * o check-out grava a estadia em occupancy_rollup_pending e a drenagem periódica distribui cada estadia pelos
+ * intervalos que ela atravessou, somando nas linhas existentes. A drenagem também é o processo de recuperação:
+ * estadias de uma instância que caiu antes de drenar, ou que chegam depois do intervalo já ter sido somado,
+ * continuam na fila e entram nos agregados na próxima execução. O relatório lê só occupancy_rollup.
+ * */
+@Slf4j
+@Service
+public class OccupancyRollupService {
+
+    private final OccupancyRollupRepository rollupRepository;
+    private final OccupancyRollupPendingRepository pendingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBuckets;
+
+    public OccupancyRollupService(OccupancyRollupRepository rollupRepository,
+                                  OccupancyRollupPendingRepository pendingRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${park.reports.rollup.batch-size:500}") int batchSize,
+                                  @Value("${park.reports.occupancy.max-buckets:744}") int maxBuckets) {
+        this.rollupRepository = rollupRepository;
+        this.pendingRepository = pendingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBuckets = maxBuckets;
+    }
+
+    //Chamado dentro da transação do check-out: a estadia só entra na fila se o check-out for efetivado
+    @Transactional
+    public void enqueue(CustomerParkingSpace stay) {
+        BigDecimal spent = stay.getFee() != null ? stay.getFee() : BigDecimal.ZERO;
+        if (stay.getDiscount() != null) {
+            spent = spent.subtract(stay.getDiscount());
+        }
+        pendingRepository.save(new OccupancyRollupPending(null, ParkingOccupancyService.levelOf(stay.getParkingSpace().getCode()),
+                stay.getEntryDate(), stay.getExitDate(), spent));
+    }
+
+    //Uma transação por bloco de batch-size estadias; retorna quantas foram somadas
+    @Scheduled(initialDelayString = "${park.reports.rollup.flush-ms:5000}",
+            fixedDelayString = "${park.reports.rollup.flush-ms:5000}")
+    public int drain() {
+        int total = 0;
+        Integer drained;
+        do {
+            drained = transactionTemplate.execute(status -> drainBatch());
+            total += drained;
+        } while (drained == batchSize);
+        if (total > 0) {
+            log.debug("Agregados de ocupação atualizados com {} estadias", total);
+        }
+        return total;
+    }
+
+    //Agregados de [from, to) alinhados ao início do intervalo; no máximo max-buckets intervalos por consulta
+    @Transactional(readOnly = true)
+    public List<OccupancyRollup> findRange(Granularity granularity, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new InvalidReportRangeException("O início do período deve ser anterior ao fim");
+        }
+        LocalDateTime start = truncate(from, granularity);
+        long buckets = unit(granularity).between(start, to) + (truncate(to, granularity).equals(to) ? 0 : 1);
+        if (buckets > maxBuckets) {
+            throw new InvalidReportRangeException(String.format(
+                    "Período com %d intervalos de %s, acima do limite de %d", buckets, granularity, maxBuckets));
+        }
+        return rollupRepository.findRange(granularity, start, to);
+    }
+
+    /*
+     * Bases com estadias encerradas antes dos agregados existirem: com as duas tabelas vazias na subida, as
+     * estadias de customer_parking_space entram na fila e a próxima drenagem as soma.
+     * */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (rollupRepository.findAny().isPresent() || pendingRepository.findAny().isPresent()) {
+                return;
+            }
+            int stays = pendingRepository.copyCompletedStays();
+            if (stays > 0) {
+                log.info("{} estadias encerradas enfileiradas para os agregados de ocupação", stays);
+            }
+        });
+    }
+
+    public static LocalDateTime truncate(LocalDateTime time, Granularity granularity) {
+        return time.truncatedTo(unit(granularity));
+    }
+
+    public static ChronoUnit unit(Granularity granularity) {
+        return granularity == Granularity.HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+    }
+
+    private int drainBatch() {
+        List<OccupancyRollupPending> pending = pendingRepository.findOldest(Limit.of(batchSize));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        for (Granularity granularity : Granularity.values()) {
+            Map<OccupancyRollup.Key, OccupancyRollup> deltas = new HashMap<>();
+            for (OccupancyRollupPending stay : pending) {
+                accumulate(deltas, stay, granularity);
+            }
+            apply(granularity, deltas);
+        }
+        pendingRepository.deleteAllByIdInBatch(pending.stream().map(OccupancyRollupPending::getId).toList());
+        return pending.size();
+    }
+
+    //Soma a estadia em cada intervalo que ela atravessou; check-out e receita contam no intervalo da saída
+    private static void accumulate(Map<OccupancyRollup.Key, OccupancyRollup> deltas, OccupancyRollupPending stay,
+                                   Granularity granularity) {
+        ChronoUnit unit = unit(granularity);
+        for (LocalDateTime bucket = truncate(stay.getEntryDate(), granularity); bucket.isBefore(stay.getExitDate()); ) {
+            LocalDateTime next = bucket.plus(1, unit);
+            LocalDateTime start = stay.getEntryDate().isAfter(bucket) ? stay.getEntryDate() : bucket;
+            LocalDateTime end = stay.getExitDate().isBefore(next) ? stay.getExitDate() : next;
+            OccupancyRollup delta = delta(deltas, granularity, bucket, stay.getLevel());
+            delta.setOccupiedSeconds(delta.getOccupiedSeconds() + Duration.between(start, end).toSeconds());
+            bucket = next;
+        }
+        OccupancyRollup exit = delta(deltas, granularity, truncate(stay.getExitDate(), granularity), stay.getLevel());
+        exit.setCheckOuts(exit.getCheckOuts() + 1);
+        exit.setRevenue(exit.getRevenue().add(stay.getSpent()));
+    }
+
+    private static OccupancyRollup delta(Map<OccupancyRollup.Key, OccupancyRollup> deltas, Granularity granularity,
+                                         LocalDateTime bucket, String level) {
+        return deltas.computeIfAbsent(new OccupancyRollup.Key(granularity, bucket, level), OccupancyRollup::new);
+    }
+
+    /*
+     * As linhas existentes do intervalo coberto pelo bloco são lidas em uma consulta e atualizadas pelo dirty
+     * checking; as que faltam são inseridas. Os UPDATEs e INSERTs saem em lotes JDBC (hibernate.jdbc.batch_size).
+     * */
+    private void apply(Granularity granularity, Map<OccupancyRollup.Key, OccupancyRollup> deltas) {
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+        for (OccupancyRollup.Key key : deltas.keySet()) {
+            from = from == null || key.getBucketStart().isBefore(from) ? key.getBucketStart() : from;
+            to = to == null || key.getBucketStart().isAfter(to) ? key.getBucketStart() : to;
+        }
+        Map<OccupancyRollup.Key, OccupancyRollup> existing = new HashMap<>();
+        for (OccupancyRollup rollup : rollupRepository.findRange(granularity, from, to.plus(1, unit(granularity)))) {
+            existing.put(rollup.getId(), rollup);
+        }
+
+        List<OccupancyRollup> created = new ArrayList<>();
+        for (OccupancyRollup delta : deltas.values()) {
+            OccupancyRollup rollup = existing.get(delta.getId());
+            if (rollup == null) {
+                created.add(delta);
+                continue;
+            }
+            rollup.setOccupiedSeconds(rollup.getOccupiedSeconds() + delta.getOccupiedSeconds());
+            rollup.setCheckOuts(rollup.getCheckOuts() + delta.getCheckOuts());
+            rollup.setRevenue(rollup.getRevenue().add(delta.getRevenue()));
+        }
+        rollupRepository.saveAll(created);
+    }
+}
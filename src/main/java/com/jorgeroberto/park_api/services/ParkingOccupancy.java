@@ -0,0 +1,17 @@
+package com.jorgeroberto.park_api.services;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//Ocupação de um nível (level = prefixo do código, ex.: "A-") ou do estacionamento inteiro (level == null)
+@Getter
+@AllArgsConstructor
+public class ParkingOccupancy {
+    private final String level;
+    private final long free;
+    private final long busy;
+
+    public long getTotal() {
+        return free + busy;
+    }
+}
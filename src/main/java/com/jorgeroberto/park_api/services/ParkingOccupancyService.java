@@ -0,0 +1,91 @@
+package com.jorgeroberto.park_api.services;
+
+import com.jorgeroberto.park_api.entities.ParkingSpace;
+import com.jorgeroberto.park_api.events.ParkingSpaceStatusChangedEvent;
+import com.jorgeroberto.park_api.repositories.ParkingSpaceRepository;
+import com.jorgeroberto.park_api.repositories.projection.OccupancyProjection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Contadores de vagas livres/ocupadas por nível mantidos em memória para os painéis das entradas.
+ * A leitura não acessa o banco: os contadores (LongAdder, com células por thread) são atualizados pelos eventos
+ * de status efetivados e substituídos periodicamente pelo resultado de uma consulta agregada, que corrige
+ * qualquer divergência (alterações feitas fora da aplicação, eventos perdidos durante a reconciliação).
+ * */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ParkingOccupancyService {
+
+    private final ParkingSpaceRepository parkingSpaceRepository;
+
+    private volatile Map<String, Counters> levels = new ConcurrentHashMap<>();
+
+    public ParkingOccupancy getTotal() {
+        long free = 0;
+        long busy = 0;
+        for (Counters counters : levels.values()) {
+            free += counters.free.sum();
+            busy += counters.busy.sum();
+        }
+        return new ParkingOccupancy(null, free, busy);
+    }
+
+    public List<ParkingOccupancy> getLevels() {
+        return levels.entrySet().stream()
+                .map(e -> new ParkingOccupancy(e.getKey(), e.getValue().free.sum(), e.getValue().busy.sum()))
+                .sorted(Comparator.comparing(ParkingOccupancy::getLevel))
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${park.parking.occupancy.reconcile-ms:60000}",
+            fixedDelayString = "${park.parking.occupancy.reconcile-ms:60000}")
+    public void reconcile() {
+        Map<String, Counters> reconciled = new ConcurrentHashMap<>();
+        for (OccupancyProjection row : parkingSpaceRepository.countByLevelAndStatus()) {
+            reconciled.computeIfAbsent(row.getLevel(), level -> new Counters())
+                    .of(row.getStatus()).add(row.getTotal());
+        }
+        levels = reconciled;
+        log.debug("Contadores de ocupação reconciliados: {} níveis", reconciled.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusCommitted(ParkingSpaceStatusChangedEvent event) {
+        Counters counters = levels.computeIfAbsent(levelOf(event.getCode()), level -> new Counters());
+        if (event.getPrevious() != null) {
+            counters.of(event.getPrevious()).decrement();
+        }
+        if (event.getCurrent() != null) {
+            counters.of(event.getCurrent()).increment();
+        }
+    }
+
+    //Mesma regra da consulta agregada: prefixo até o '-' inclusive, ou "" se o código não tiver '-'
+    static String levelOf(String code) {
+        return code.substring(0, code.indexOf('-') + 1);
+    }
+
+    private static class Counters {
+        private final LongAdder free = new LongAdder();
+        private final LongAdder busy = new LongAdder();
+
+        private LongAdder of(ParkingSpace.ParkingStatus status) {
+            return status == ParkingSpace.ParkingStatus.FREE ? free : busy;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.jorgeroberto.park_api.services;
+
+import com.jorgeroberto.park_api.entities.Customer;
+import com.jorgeroberto.park_api.entities.CustomerParkingSpace;
+import com.jorgeroberto.park_api.entities.ParkingSpace;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+//Orquestra o check-in e o check-out de veículos nas vagas
+@RequiredArgsConstructor
+@Service
+public class ParkingService {
+
+    private final CustomerParkingSpaceService customerParkingSpaceService;
+    private final CustomerService customerService;
+    private final ParkingSpaceService parkingSpaceService;
+    private final TariffEngine tariffEngine;
+    private final CustomerVisitService customerVisitService;
+    private final OccupancyRollupService occupancyRollupService;
+    private final ReceiptNumberAllocator receiptNumberAllocator;
+    private final TransactionTemplate transactionTemplate;
+
+    /*
+     * O recibo é reservado antes de a transação pegar uma conexão do pool: a reserva de um bloco novo usa
+     * outra conexão, e com o pool tomado por check-ins esperando recibo ninguém a devolveria.
+     * Um check-in que falha depois disso deixa uma lacuna na numeração.
+     * */
+    public CustomerParkingSpace checkIn(CustomerParkingSpace customerParkingSpace) {
+        LocalDateTime entryDate = LocalDateTime.now();
+        customerParkingSpace.setEntryDate(entryDate);
+        customerParkingSpace.setReceipt(receiptNumberAllocator.nextReceipt(entryDate));
+
+        return transactionTemplate.execute(status -> {
+            Customer customer = customerService.findByCpf(customerParkingSpace.getCustomer().getCpf());
+            ParkingSpace parkingSpace = parkingSpaceService.occupyFreeParkingSpace();
+
+            customerParkingSpace.setCustomer(customer);
+            customerParkingSpace.setParkingSpace(parkingSpace);
+            return customerParkingSpaceService.save(customerParkingSpace);
+        });
+    }
+
+    @Transactional
+    public CustomerParkingSpace checkOut(String receipt) {
+        CustomerParkingSpace customerParkingSpace = customerParkingSpaceService.findOpenByReceipt(receipt);
+        // estadias encerradas antes desta, lidas dos totais do cliente (customer_visit_stats)
+        long visits = customerVisitService.countVisits(customerParkingSpace.getCustomer().getId());
+        Instant exit = Instant.now();
+        long fee = tariffEngine.feeCents(customerParkingSpace.getEntryDate(), exit);
+        customerParkingSpace.setExitDate(LocalDateTime.ofInstant(exit, ZoneId.systemDefault()));
+        customerParkingSpace.setFee(BigDecimal.valueOf(fee, 2));
+        customerParkingSpace.setDiscount(BigDecimal.valueOf(tariffEngine.discountCents(fee, visits), 2));
+        parkingSpaceService.releaseParkingSpace(customerParkingSpace.getParkingSpace());
+        customerVisitService.record(customerParkingSpace);
+        occupancyRollupService.enqueue(customerParkingSpace);
+        return customerParkingSpace;
+    }
+}
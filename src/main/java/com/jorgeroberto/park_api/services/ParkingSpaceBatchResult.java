@@ -0,0 +1,27 @@
+package com.jorgeroberto.park_api.services;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//Resultado de cada vaga enviada no cadastro em lote, na mesma ordem da requisição
+@Getter
+@AllArgsConstructor
+public class ParkingSpaceBatchResult {
+    private final String code;
+    private final Status status;
+    private final String message;
+
+    public enum Status {
+        CREATED,
+        CONFLICT
+    }
+
+    static ParkingSpaceBatchResult created(String code) {
+        return new ParkingSpaceBatchResult(code, Status.CREATED, null);
+    }
+
+    static ParkingSpaceBatchResult conflict(String code) {
+        return new ParkingSpaceBatchResult(code, Status.CONFLICT,
+                String.format("Parking Space with code : %s already exists", code));
+    }
+}
@@ -0,0 +1,67 @@
+package com.jorgeroberto.park_api.services;
+
+import com.jorgeroberto.park_api.entities.ParkingSpace;
+import com.jorgeroberto.park_api.exceptions.CodeUniqueViolationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * Cadastro de vagas em lote. Códigos já existentes no banco ou repetidos na própria requisição viram CONFLICT
+ * sem abortar o lote; o restante é gravado em uma transação com INSERTs em batch.
+ * Se outra requisição gravar um dos códigos entre a verificação e o commit, o lote é desfeito e as vagas são
+ * regravadas uma a uma, cada uma na sua transação, para isolar os conflitos.
+ * */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ParkingSpaceBatchService {
+
+    private final ParkingSpaceService parkingSpaceService;
+
+    public List<ParkingSpaceBatchResult> saveAll(List<ParkingSpace> parkingSpaces) {
+        Set<String> existing = new HashSet<>(parkingSpaceService.findExistingCodes(
+                parkingSpaces.stream().map(ParkingSpace::getCode).toList()));
+
+        ParkingSpaceBatchResult[] results = new ParkingSpaceBatchResult[parkingSpaces.size()];
+        List<Integer> pending = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < parkingSpaces.size(); i++) {
+            String code = parkingSpaces.get(i).getCode();
+            if (existing.contains(code) || !seen.add(code)) {
+                results[i] = ParkingSpaceBatchResult.conflict(code);
+            } else {
+                pending.add(i);
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            try {
+                parkingSpaceService.saveAll(pending.stream().map(parkingSpaces::get).toList());
+                pending.forEach(i -> results[i] = ParkingSpaceBatchResult.created(parkingSpaces.get(i).getCode()));
+            } catch (DataIntegrityViolationException e) {
+                log.info("Conflito de código durante o lote de {} vagas, gravando uma a uma", pending.size());
+                pending.forEach(i -> results[i] = saveOne(parkingSpaces.get(i)));
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private ParkingSpaceBatchResult saveOne(ParkingSpace parkingSpace) {
+        // o id atribuído no lote desfeito não vale mais; sem ele o save volta a ser um INSERT
+        parkingSpace.setId(null);
+        try {
+            parkingSpaceService.save(parkingSpace);
+            return ParkingSpaceBatchResult.created(parkingSpace.getCode());
+        } catch (CodeUniqueViolationException e) {
+            return ParkingSpaceBatchResult.conflict(parkingSpace.getCode());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.jorgeroberto.park_api.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.jorgeroberto.park_api.entities.ParkingSpace;
+import com.jorgeroberto.park_api.events.ParkingSpaceStatusChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/*
+ * Cache read-through das vagas por código. Guarda cópias desanexadas (nunca a entidade gerenciada) e também
+ * as buscas sem resultado, por um TTL curto, para que varreduras de códigos inexistentes não cheguem ao banco.
+ * Toda criação ou mudança de status remove o código do cache: no momento da escrita e de novo após o commit,
+ * para descartar o que uma leitura concorrente tenha carregado antes da transação terminar.
+ * Métricas cache.* com cache=parkingSpacesByCode; park.parking.cache.enabled=false desliga o cache.
+ * */
+@Component
+public class ParkingSpaceCache {
+
+    private final Cache<String, Optional<ParkingSpace>> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ParkingSpaceCache(@Value("${park.parking.cache.enabled:true}") boolean enabled,
+                             @Value("${park.parking.cache.max-size:10000}") long maxSize,
+                             @Value("${park.parking.cache.ttl:10m}") Duration ttl,
+                             @Value("${park.parking.cache.negative-ttl:5s}") Duration negativeTtl,
+                             MeterRegistry meterRegistry) {
+        this.cache = !enabled ? null : Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating((String code, Optional<ParkingSpace> parkingSpace) ->
+                        parkingSpace.isPresent() ? ttl : negativeTtl))
+                .recordStats()
+                .build();
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "parkingSpacesByCode");
+        }
+    }
+
+    public Optional<ParkingSpace> get(String code, Function<String, Optional<ParkingSpace>> loader) {
+        if (cache == null) {
+            return loader.apply(code);
+        }
+        // sem cache.get(key, loader): o loader rodaria sob o monitor do ConcurrentHashMap (ver JwtUserDetailsCache).
+        // Se houve invalidação durante a carga, o valor lido pode ser anterior ao commit e não é guardado
+        Optional<ParkingSpace> cached = cache.getIfPresent(code);
+        if (cached == null) {
+            long generation = invalidations.get();
+            cached = loader.apply(code).map(ParkingSpaceCache::copy);
+            if (invalidations.get() == generation) {
+                cache.put(code, cached);
+            }
+        }
+        return cached.map(ParkingSpaceCache::copy);
+    }
+
+    public void invalidate(String code) {
+        if (cache != null) {
+            invalidations.incrementAndGet();
+            cache.invalidate(code);
+        }
+    }
+
+    @EventListener
+    public void onStatusChanged(ParkingSpaceStatusChangedEvent event) {
+        invalidate(event.getCode());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStatusCommitted(ParkingSpaceStatusChangedEvent event) {
+        invalidate(event.getCode());
+    }
+
+    private static ParkingSpace copy(ParkingSpace parkingSpace) {
+        return new ParkingSpace(parkingSpace.getId(), parkingSpace.getCode(), parkingSpace.getStatus(),
+                parkingSpace.getCreatedAt(), parkingSpace.getUpdatedAt(),
+                parkingSpace.getCreatedBy(), parkingSpace.getUpdatedBy());
+    }
+}
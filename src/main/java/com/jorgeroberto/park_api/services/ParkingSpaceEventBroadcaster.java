@@ -0,0 +1,116 @@
+package com.jorgeroberto.park_api.services;
+
+import com.jorgeroberto.park_api.events.ParkingSpaceStatusChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Distribui as mudanças de status de vagas efetivadas no banco para os assinantes do stream SSE.
+ * Cada assinante tem um buffer próprio, limitado e indexado pelo código da vaga: mudanças seguidas de uma
+ * mesma vaga ainda não enviadas são combinadas em uma só (e descartadas se voltarem ao status anterior).
+ * O envio acontece em outra thread (publishOn), então quem publica nunca espera pela rede; o assinante
+ * que deixa o buffer passar de park.parking.events.buffer-size vagas pendentes é desconectado.
+ * */
+@Slf4j
+@Service
+public class ParkingSpaceEventBroadcaster {
+
+    private final int bufferSize;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public ParkingSpaceEventBroadcaster(@Value("${park.parking.events.buffer-size:256}") int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public Flux<ParkingSpaceStatusChangedEvent> subscribe() {
+        return Flux.<ParkingSpaceStatusChangedEvent>create(sink -> {
+                    Subscriber subscriber = new Subscriber(sink);
+                    subscribers.add(subscriber);
+                    sink.onRequest(n -> subscriber.drain());
+                    sink.onDispose(() -> subscribers.remove(subscriber));
+                })
+                .publishOn(Schedulers.boundedElastic(), false, 1);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusCommitted(ParkingSpaceStatusChangedEvent event) {
+        subscribers.forEach(subscriber -> subscriber.offer(event));
+    }
+
+    private class Subscriber {
+        private final FluxSink<ParkingSpaceStatusChangedEvent> sink;
+        private final Map<String, ParkingSpaceStatusChangedEvent> pending = new LinkedHashMap<>();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private Subscriber(FluxSink<ParkingSpaceStatusChangedEvent> sink) {
+            this.sink = sink;
+        }
+
+        private void offer(ParkingSpaceStatusChangedEvent event) {
+            boolean overflow;
+            synchronized (this) {
+                ParkingSpaceStatusChangedEvent queued = pending.get(event.getCode());
+                if (queued == null) {
+                    pending.put(event.getCode(), event);
+                } else if (queued.getPrevious() == event.getCurrent()) {
+                    pending.remove(event.getCode());
+                } else {
+                    pending.put(event.getCode(),
+                            new ParkingSpaceStatusChangedEvent(event.getCode(), queued.getPrevious(), event.getCurrent()));
+                }
+                overflow = pending.size() > bufferSize;
+            }
+            if (overflow) {
+                log.warn("Assinante de eventos de vagas desconectado: {} vagas pendentes sem leitura", bufferSize);
+                subscribers.remove(this);
+                // erro sem atraso (delayError = false no publishOn) encerra a conexão mesmo com eventos na fila
+                sink.error(Exceptions.failWithOverflow("Assinante de eventos de vagas não acompanhou o ritmo"));
+                return;
+            }
+            drain();
+        }
+
+        //Um único thread esvazia o buffer por vez, preservando a ordem; os demais só sinalizam que há trabalho
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                ParkingSpaceStatusChangedEvent next;
+                while ((next = poll()) != null) {
+                    sink.next(next);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private synchronized ParkingSpaceStatusChangedEvent poll() {
+            if (pending.isEmpty() || sink.requestedFromDownstream() == 0) {
+                return null;
+            }
+            Iterator<ParkingSpaceStatusChangedEvent> iterator = pending.values().iterator();
+            ParkingSpaceStatusChangedEvent next = iterator.next();
+            iterator.remove();
+            return next;
+        }
+    }
+}
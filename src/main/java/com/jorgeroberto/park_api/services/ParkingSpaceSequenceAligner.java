@@ -0,0 +1,69 @@
+package com.jorgeroberto.park_api.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import static com.jorgeroberto.park_api.entities.ParkingSpace.ID_ALLOCATION_SIZE;
+import static com.jorgeroberto.park_api.entities.ParkingSpace.ID_SEQUENCE;
+
+/*
+ * Bases que já tinham vagas com ids IDENTITY recebem a sequência (ou a tabela parking_space_seq, no MySQL)
+ * começando do 1. Na subida da aplicação a sequência é avançada para depois do maior id existente,
+ * senão os próximos ids pooled colidiriam com as vagas antigas. Roda com os beans já criados e antes do servidor
+ * web aceitar requisições, para nenhum cadastro de vaga usar a sequência ainda desalinhada.
+ * */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ParkingSpaceSequenceAligner implements SmartInitializingSingleton {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        align();
+    }
+
+    public void align() {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from parking_space", Long.class);
+        if (maxId == null) {
+            return;
+        }
+        // o pooled entrega os ids (valor - ID_ALLOCATION_SIZE, valor], então o próximo valor lido precisa passar disso
+        long target = maxId + ID_ALLOCATION_SIZE + 1;
+        SequenceSupport sequenceSupport = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport();
+
+        if (sequenceSupport.supportsSequences()) {
+            Long current = nextSequenceValue(sequenceSupport);
+            if (current != null && current < target) {
+                jdbcTemplate.execute("alter sequence " + ID_SEQUENCE + " restart with " + target);
+                log.info("Sequência {} reiniciada em {} (maior id de vaga: {})", ID_SEQUENCE, target, maxId);
+            }
+        } else if (jdbcTemplate.update("update " + ID_SEQUENCE + " set next_val = ? where next_val < ?", target, target) > 0) {
+            log.info("Tabela {} avançada para {} (maior id de vaga: {})", ID_SEQUENCE, target, maxId);
+        }
+    }
+
+    /*
+     * Próximo valor da sequência sem consumi-lo (base_value do information_schema, H2 e bancos compatíveis):
+     * um nextval a cada subida descartaria um bloco de ID_ALLOCATION_SIZE ids. Onde a consulta não existe,
+     * o nextval é o único jeito de ler o valor.
+     * */
+    private Long nextSequenceValue(SequenceSupport sequenceSupport) {
+        try {
+            return jdbcTemplate.queryForObject("select base_value from information_schema.sequences " +
+                    "where upper(sequence_name) = upper(?)", Long.class, ID_SEQUENCE);
+        } catch (DataAccessException e) {
+            return jdbcTemplate.queryForObject(sequenceSupport.getSequenceNextValString(ID_SEQUENCE), Long.class);
+        }
+    }
+}
@@ -1,23 +1,45 @@
 package com.jorgeroberto.park_api.services;
 
 import com.jorgeroberto.park_api.entities.ParkingSpace;
+import com.jorgeroberto.park_api.events.ParkingSpaceStatusChangedEvent;
 import com.jorgeroberto.park_api.exceptions.CodeUniqueViolationException;
 import com.jorgeroberto.park_api.exceptions.EntityNotFoundException;
 import com.jorgeroberto.park_api.repositories.ParkingSpaceRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.jorgeroberto.park_api.entities.ParkingSpace.ParkingStatus.BUSY;
+import static com.jorgeroberto.park_api.entities.ParkingSpace.ParkingStatus.FREE;
+
+@Slf4j
 @RequiredArgsConstructor
 @Service
 public class ParkingSpaceService {
+    private static final int FALLBACK_CANDIDATES = 10;
+    private static final int FALLBACK_ROUNDS = 3;
+
     private final ParkingSpaceRepository parkingSpaceRepository;
+    private final FreeParkingSpaceIndex freeParkingSpaceIndex;
+    private final ParkingSpaceCache parkingSpaceCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ParkingSpace save(ParkingSpace parkingSpace) {
         try {
-            return parkingSpaceRepository.save(parkingSpace);
+            // com ids de sequência o INSERT só sairia no commit; o flush mantém a violação de unicidade aqui dentro
+            ParkingSpace saved = parkingSpaceRepository.saveAndFlush(parkingSpace);
+            eventPublisher.publishEvent(new ParkingSpaceStatusChangedEvent(saved.getCode(), null, saved.getStatus()));
+            return saved;
         } catch (DataIntegrityViolationException e) {
             throw new CodeUniqueViolationException(
                     String.format("Parking Space with code : %s already exists", parkingSpace.getCode())
@@ -25,10 +47,83 @@ public class ParkingSpaceService {
         }
     }
 
+    /*
+     * Insere todas as vagas em uma única transação; com ids pooled e hibernate.jdbc.batch_size os INSERTs
+     * vão em lotes. Qualquer violação de unicidade desfaz o lote inteiro (DataIntegrityViolationException).
+     * */
+    @Transactional
+    public List<ParkingSpace> saveAll(List<ParkingSpace> parkingSpaces) {
+        List<ParkingSpace> saved = parkingSpaceRepository.saveAll(parkingSpaces);
+        parkingSpaceRepository.flush();
+        saved.forEach(p -> eventPublisher.publishEvent(new ParkingSpaceStatusChangedEvent(p.getCode(), null, p.getStatus())));
+        return saved;
+    }
+
     @Transactional(readOnly = true)
+    public List<String> findExistingCodes(Collection<String> codes) {
+        return parkingSpaceRepository.findCodesByCodeIn(codes);
+    }
+
+    //Consulta pelo cache (cópia desanexada); sem @Transactional para que um acerto não abra transação
     public ParkingSpace findByCode(String code) {
+        return parkingSpaceCache.get(code, parkingSpaceRepository::findByCode).orElseThrow(
+                () -> new EntityNotFoundException(String.format("Parking Space with code : %s not found", code))
+        );
+    }
+
+    //Entidade gerenciada, lida direto do banco, para quem vai associá-la ou alterá-la na transação corrente
+    private ParkingSpace loadByCode(String code) {
         return parkingSpaceRepository.findByCode(code).orElseThrow(
                 () -> new EntityNotFoundException(String.format("Parking Space with code : %s not found", code))
         );
     }
+
+    /*
+     * Ocupa uma vaga livre para o check-in. O código vem do índice em memória e a ocupação é confirmada
+     * por um UPDATE condicional, sem SELECT ... FOR UPDATE; se o índice estiver vazio ou defasado,
+     * busca alguns candidatos direto no banco, no máximo FALLBACK_ROUNDS vezes e sem repetir códigos já
+     * tentados: no MySQL (REPEATABLE READ) a leitura repete o snapshot da transação, então vagas ocupadas
+     * por outros check-ins continuariam aparecendo como livres.
+     * */
+    @Transactional
+    public ParkingSpace occupyFreeParkingSpace() {
+        String code;
+        while ((code = freeParkingSpaceIndex.poll()) != null) {
+            if (occupy(code)) {
+                return loadByCode(code);
+            }
+        }
+        Set<String> tried = new HashSet<>();
+        for (int round = 0; round < FALLBACK_ROUNDS; round++) {
+            List<String> candidates = tried.isEmpty()
+                    ? parkingSpaceRepository.findCodesByStatus(FREE, Limit.of(FALLBACK_CANDIDATES))
+                    : parkingSpaceRepository.findCodesByStatusAndCodeNotIn(FREE, tried, Limit.of(FALLBACK_CANDIDATES));
+            if (candidates.isEmpty()) {
+                break;
+            }
+            log.info("Índice de vagas livres vazio ou defasado, ocupando vaga a partir do banco");
+            for (String candidate : candidates) {
+                if (occupy(candidate)) {
+                    return loadByCode(candidate);
+                }
+                tried.add(candidate);
+            }
+        }
+        throw new EntityNotFoundException("Nenhuma vaga livre foi encontrada");
+    }
+
+    @Transactional
+    public void releaseParkingSpace(ParkingSpace parkingSpace) {
+        ParkingSpace.ParkingStatus previous = parkingSpace.getStatus();
+        parkingSpace.setStatus(FREE);
+        eventPublisher.publishEvent(new ParkingSpaceStatusChangedEvent(parkingSpace.getCode(), previous, FREE));
+    }
+
+    private boolean occupy(String code) {
+        if (parkingSpaceRepository.updateStatus(code, FREE, BUSY) == 1) {
+            eventPublisher.publishEvent(new ParkingSpaceStatusChangedEvent(code, FREE, BUSY));
+            return true;
+        }
+        return false;
+    }
 }
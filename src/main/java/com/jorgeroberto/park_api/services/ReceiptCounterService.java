@@ -0,0 +1,38 @@
+package com.jorgeroberto.park_api.services;
+
+import com.jorgeroberto.park_api.repositories.ReceiptCounterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.OptionalLong;
+
+@RequiredArgsConstructor
+@Service
+public class ReceiptCounterService {
+
+    private final ReceiptCounterRepository repository;
+
+    /*
+     * Reserva [primeiro, primeiro + size) e retorna o primeiro número, ou vazio se a linha do contador ainda não
+     * existir (ver seed). Transação própria e curta: o lock da linha não fica preso ao check-in que pediu o bloco.
+     * */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public OptionalLong lease(String name, long size) {
+        if (repository.increment(name, size) == 0) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(repository.findNextValue(name) - size);
+    }
+
+    /*
+     * Cria a linha do contador em uma transação separada da reserva: no MySQL o UPDATE sem linha deixa um gap
+     * lock, e duas instâncias fazendo UPDATE e INSERT na mesma transação entrariam em deadlock. Sozinho, o
+     * INSERT concorrente só falha com chave duplicada (DataIntegrityViolationException), que o chamador ignora.
+     * */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void seed(String name) {
+        repository.insert(name, 1);
+    }
+}
@@ -0,0 +1,118 @@
+package com.jorgeroberto.park_api.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Números de recibo no formato yyyyMMdd-NNNNNN (data da entrada + número sequencial), no estilo hi/lo:
+ * cada instância reserva blocos de park.parking.receipt.block-size números na tabela receipt_counter
+ * e os distribui da memória com um getAndIncrement, sem lock. O banco só é consultado a cada bloco, e várias
+ * instâncias nunca recebem o mesmo bloco (o incremento é atômico na linha do contador).
+ * Reinícios não repetem números: o bloco é gravado antes do uso; o que sobrou dele vira lacuna.
+ * */
+@Slf4j
+@Component
+public class ReceiptNumberAllocator {
+
+    private static final String COUNTER = "receipt";
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final int MAX_LEASE_ATTEMPTS = 3;
+
+    private final ReceiptCounterService receiptCounterService;
+    private final long blockSize;
+    private final ReentrantLock leaseLock = new ReentrantLock();
+    private volatile Block block = new Block(0, 0);
+
+    public ReceiptNumberAllocator(ReceiptCounterService receiptCounterService,
+                                  @Value("${park.parking.receipt.block-size:100}") long blockSize) {
+        this.receiptCounterService = receiptCounterService;
+        this.blockSize = blockSize;
+    }
+
+    //Primeiro bloco reservado na subida, fora do caminho do primeiro check-in
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        replace(block);
+    }
+
+    public String nextReceipt(LocalDateTime entryDate) {
+        return entryDate.format(DATE_FORMAT) + "-" + String.format("%06d", next());
+    }
+
+    public long next() {
+        while (true) {
+            Block current = block;
+            long value = current.next.getAndIncrement();
+            if (value < current.end) {
+                return value;
+            }
+            // bloco esgotado: só uma thread reserva o próximo, as outras esperam por ele e tentam de novo
+            replace(current);
+        }
+    }
+
+    //ReentrantLock em vez de synchronized: a reserva faz I/O de JDBC e, com virtual threads, synchronized prenderia a carrier
+    private void replace(Block exhausted) {
+        leaseLock.lock();
+        try {
+            if (block != exhausted) {
+                return;
+            }
+            long first = lease();
+            log.debug("Bloco de recibos reservado: [{}, {})", first, first + blockSize);
+            block = new Block(first, first + blockSize);
+        } finally {
+            leaseLock.unlock();
+        }
+    }
+
+    private long lease() {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                OptionalLong first = receiptCounterService.lease(COUNTER, blockSize);
+                if (first.isPresent()) {
+                    return first.getAsLong();
+                }
+                if (attempt >= MAX_LEASE_ATTEMPTS) {
+                    throw new IllegalStateException("Contador de recibos '" + COUNTER + "' não encontrado");
+                }
+                seed();
+            } catch (PessimisticLockingFailureException e) {
+                // deadlock ou timeout de lock na linha do contador: a transação já foi desfeita, basta repetir
+                if (attempt >= MAX_LEASE_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Reserva de bloco de recibos repetida após falha de lock: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void seed() {
+        try {
+            receiptCounterService.seed(COUNTER);
+        } catch (DataIntegrityViolationException e) {
+            // outra instância criou a linha do contador primeiro
+        }
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long first, long end) {
+            this.next = new AtomicLong(first);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.jorgeroberto.park_api.services;
+
+import com.jorgeroberto.park_api.config.SpringTimezoneConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/*
+ * Cálculo da tarifa de uma estadia, em centavos:
+ *  - até first-minutes: first-price;
+ *  - depois, first-price + block-price por bloco de block-minutes iniciado;
+ *  - cada 24h limitadas a daily-cap (o dia cheio custa o menor entre o cap e a tarifa de 1440 minutos);
+ *  - a partir de loyalty.visits estadias encerradas do cliente, loyalty.discount-percent de desconto.
+ * As regras são compiladas na subida em uma tabela int[] com a tarifa de cada minuto de um dia, então o
+ * check-out só faz aritmética sobre long: sem BigDecimal, sem alocação e sem consulta.
+ * A duração é o tempo decorrido entre os instantes, não a diferença de relógio: uma estadia que atravessa
+ * uma mudança de horário de verão paga o que durou de fato.
+ * */
+@Component
+public class TariffEngine {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    //Tarifa por minuto de permanência dentro de um dia (índice 0..1440), já limitada ao cap diário
+    private final int[] dayFeeCents;
+    private final long fullDayCents;
+    private final long loyaltyVisits;
+    private final long loyaltyDiscountPercent;
+    private final ZoneRules zoneRules;
+
+    public TariffEngine(@Value("${park.tariff.first-minutes:15}") int firstMinutes,
+                        @Value("${park.tariff.first-price:5.00}") BigDecimal firstPrice,
+                        @Value("${park.tariff.block-minutes:60}") int blockMinutes,
+                        @Value("${park.tariff.block-price:9.25}") BigDecimal blockPrice,
+                        @Value("${park.tariff.daily-cap:60.00}") BigDecimal dailyCap,
+                        @Value("${park.tariff.loyalty.visits:10}") long loyaltyVisits,
+                        @Value("${park.tariff.loyalty.discount-percent:30}") long loyaltyDiscountPercent) {
+        if (firstMinutes < 0 || blockMinutes <= 0 || loyaltyVisits < 0
+                || loyaltyDiscountPercent < 0 || loyaltyDiscountPercent > 100) {
+            throw new IllegalArgumentException("Regras de tarifa inválidas");
+        }
+        long firstCents = cents(firstPrice);
+        long blockCents = cents(blockPrice);
+        long capCents = cents(dailyCap);
+
+        this.dayFeeCents = new int[MINUTES_PER_DAY + 1];
+        for (int minutes = 0; minutes <= MINUTES_PER_DAY; minutes++) {
+            long fee = firstCents;
+            if (minutes > firstMinutes) {
+                long blocks = (minutes - firstMinutes + blockMinutes - 1) / blockMinutes;
+                fee += blocks * blockCents;
+            }
+            dayFeeCents[minutes] = Math.toIntExact(Math.min(fee, capCents));
+        }
+        this.fullDayCents = dayFeeCents[MINUTES_PER_DAY];
+        this.loyaltyVisits = loyaltyVisits;
+        this.loyaltyDiscountPercent = loyaltyDiscountPercent;
+        // mesmo fuso dos LocalDateTime.now() gravados (SpringTimezoneConfig)
+        this.zoneRules = ZoneId.of(SpringTimezoneConfig.TIMEZONE).getRules();
+    }
+
+    //Tarifa entre a entrada gravada (horário local do estacionamento) e o instante da saída
+    public long feeCents(LocalDateTime entryDate, Instant exit) {
+        return feeCents(epochSecond(entryDate), exit.getEpochSecond());
+    }
+
+    public long feeCents(long entryEpochSecond, long exitEpochSecond) {
+        // minuto iniciado conta como minuto; saída antes da entrada (ver epochSecond) paga o mínimo
+        long minutes = Math.max(0, (exitEpochSecond - entryEpochSecond + 59) / 60);
+        long days = minutes / MINUTES_PER_DAY;
+        int remainder = (int) (minutes % MINUTES_PER_DAY);
+        long fee = days * fullDayCents;
+        if (days == 0 || remainder > 0) {
+            fee += dayFeeCents[remainder];
+        }
+        return fee;
+    }
+
+    //visits = estadias já encerradas do cliente, sem contar a atual
+    public long discountCents(long feeCents, long visits) {
+        if (loyaltyVisits == 0 || visits < loyaltyVisits) {
+            return 0;
+        }
+        return feeCents * loyaltyDiscountPercent / 100;
+    }
+
+    /*
+     * Horário local -> instante. Uma entrada na hora repetida do fim do horário de verão é ambígua;
+     * fica com o instante mais tarde, que nunca aumenta a duração cobrada (no salto do início, que o
+     * LocalDateTime.now() não produz, avança como o ZonedDateTime).
+     * */
+    long epochSecond(LocalDateTime dateTime) {
+        ZoneOffsetTransition transition = zoneRules.getTransition(dateTime);
+        ZoneOffset offset = transition == null ? zoneRules.getOffset(dateTime)
+                : transition.isGap() ? transition.getOffsetBefore() : transition.getOffsetAfter();
+        return dateTime.toEpochSecond(offset);
+    }
+
+    private static long cents(BigDecimal value) {
+        return value.movePointRight(2).longValueExact();
+    }
+}
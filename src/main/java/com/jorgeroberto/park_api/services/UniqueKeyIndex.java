@@ -0,0 +1,88 @@
+package com.jorgeroberto.park_api.services;
+
+import com.jorgeroberto.park_api.repositories.CustomerRepository;
+import com.jorgeroberto.park_api.repositories.UserRepository;
+import com.jorgeroberto.park_api.repositories.projection.CustomerProjection;
+import com.jorgeroberto.park_api.repositories.projection.UserProjection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/*
+ * Filtros de Bloom dos CPFs de clientes e usernames já cadastrados, usados no cadastro para evitar a
+ * tentativa de INSERT com chave repetida (rollback e valor de auto-incremento perdido; no usuário, também
+ * o bcrypt). Se o filtro diz que a chave não existe, o INSERT sai direto; se diz que talvez exista,
+ * uma consulta de existência pelo índice único decide. A constraint do banco continua sendo a garantia:
+ * linhas gravadas fora da aplicação só fazem o cadastro cair no tratamento da violação, como antes.
+ * Carregado na subida, em blocos por keyset, e atualizado a cada cadastro.
+ * */
+@Slf4j
+@Component
+public class UniqueKeyIndex {
+    private static final int WARM_UP_CHUNK_SIZE = 1000;
+
+    private final CustomerRepository customerRepository;
+    private final UserRepository userRepository;
+    private final BloomFilter cpfs;
+    private final BloomFilter usernames;
+
+    public UniqueKeyIndex(CustomerRepository customerRepository,
+                          UserRepository userRepository,
+                          @Value("${park.unique-keys.expected-insertions:1000000}") long expectedInsertions,
+                          @Value("${park.unique-keys.fpp:0.01}") double fpp) {
+        this.customerRepository = customerRepository;
+        this.userRepository = userRepository;
+        this.cpfs = new BloomFilter(expectedInsertions, fpp);
+        this.usernames = new BloomFilter(expectedInsertions, fpp);
+    }
+
+    public boolean mightContainCpf(String cpf) {
+        return cpfs.mightContain(cpf);
+    }
+
+    public void addCpf(String cpf) {
+        cpfs.put(cpf);
+    }
+
+    public boolean mightContainUsername(String username) {
+        return usernames.mightContain(username);
+    }
+
+    public void addUsername(String username) {
+        usernames.put(username);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long customers = 0;
+        Long lastId = 0L;
+        List<CustomerProjection> customerChunk;
+        do {
+            customerChunk = customerRepository.findCpfsAfter(lastId, Limit.of(WARM_UP_CHUNK_SIZE));
+            for (CustomerProjection customer : customerChunk) {
+                cpfs.put(customer.getCpf());
+                lastId = customer.getId();
+            }
+            customers += customerChunk.size();
+        } while (customerChunk.size() == WARM_UP_CHUNK_SIZE);
+
+        long users = 0;
+        lastId = 0L;
+        List<UserProjection> userChunk;
+        do {
+            userChunk = userRepository.findAllAfter(lastId, Limit.of(WARM_UP_CHUNK_SIZE));
+            for (UserProjection user : userChunk) {
+                usernames.put(user.getUsername());
+                lastId = user.getId();
+            }
+            users += userChunk.size();
+        } while (userChunk.size() == WARM_UP_CHUNK_SIZE);
+
+        log.info("Filtros de chaves únicas carregados: {} CPFs, {} usernames", customers, users);
+    }
+}
@@ -5,13 +5,19 @@ import com.jorgeroberto.park_api.exceptions.EntityNotFoundException;
 import com.jorgeroberto.park_api.exceptions.PasswordInvalidException;
 import com.jorgeroberto.park_api.exceptions.UsernameUniqueViolationException;
 import com.jorgeroberto.park_api.repositories.UserRepository;
+import com.jorgeroberto.park_api.repositories.projection.UserProjection;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -19,18 +25,31 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UniqueKeyIndex uniqueKeyIndex;
 
+    @Value("${park.users.stream.chunk-size:500}")
+    private int streamChunkSize;
+
+    //Username provavelmente repetido (filtro) é confirmado por consulta antes do bcrypt e do INSERT
     @Transactional
     public User save(User obj) {
-
+        if (uniqueKeyIndex.mightContainUsername(obj.getUsername()) && userRepository.existsByUsername(obj.getUsername())) {
+            throw usernameUniqueViolation(obj.getUsername());
+        }
         try {
             obj.setPassword(passwordEncoder.encode(obj.getPassword())); //criptografia de senha
-            return userRepository.save(obj);
+            User saved = userRepository.save(obj);
+            uniqueKeyIndex.addUsername(saved.getUsername());
+            return saved;
         } catch (DataIntegrityViolationException ex) {
-            throw new UsernameUniqueViolationException(String.format("Username {%s} already exists", obj.getUsername()));
+            throw usernameUniqueViolation(obj.getUsername());
         }
     }
 
+    private static UsernameUniqueViolationException usernameUniqueViolation(String username) {
+        return new UsernameUniqueViolationException(String.format("Username {%s} already exists", username));
+    }
+
     @Transactional(readOnly = true)
     public User findById(Long id) {
         return userRepository.findById(id).orElseThrow(
@@ -55,9 +74,34 @@ public class UserService {
         return user;
     }
 
+    //Grava um hash já calculado pelo encoder (rehash no login), sem codificar de novo
+    @Transactional
+    public User updateEncodedPassword(String username, String encodedPassword) {
+        User user = findByUsername(username);
+        user.setPassword(encodedPassword);
+        return user;
+    }
+
     @Transactional(readOnly = true)
-    public List<User> findAll() {
-        return userRepository.findAll();
+    public Page<UserProjection> findAll(Pageable pageable) {
+        return userRepository.findAllPageable(pageable);
+    }
+
+    /*
+     * Percorre todos os usuários em blocos de streamChunkSize, por keyset (id > último id lido),
+     * entregando cada linha ao consumer assim que o bloco é lido. Cada bloco é uma consulta
+     * independente, então a memória usada não depende do total de usuários.
+     * */
+    public void forEachUser(Consumer<UserProjection> consumer) {
+        Long lastId = 0L;
+        List<UserProjection> chunk;
+        do {
+            chunk = userRepository.findAllAfter(lastId, Limit.of(streamChunkSize));
+            chunk.forEach(consumer);
+            if (!chunk.isEmpty()) {
+                lastId = chunk.get(chunk.size() - 1).getId();
+            }
+        } while (chunk.size() == streamChunkSize);
     }
 
     @Transactional(readOnly = true)
@@ -66,9 +110,4 @@ public class UserService {
                 () -> new EntityNotFoundException(String.format("Usuário com 'username' não encontrado!", username))
         );
     }
-
-    @Transactional(readOnly = true)
-    public User.Role findRoleByUsername(String username) {
-        return userRepository.findRoleByUsername(username);
-    }
 }
@@ -1,6 +1,7 @@
 package com.jorgeroberto.park_api.web.controllers;
 
 import com.jorgeroberto.park_api.jwt.JwtToken;
+import com.jorgeroberto.park_api.jwt.JwtUserDetails;
 import com.jorgeroberto.park_api.jwt.JwtUserDetailsService;
 import com.jorgeroberto.park_api.web.dto.UserLoginDto;
 import com.jorgeroberto.park_api.web.dto.UserResponseDto;
@@ -13,26 +14,38 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 @Tag(name = "Autenticação", description = "Recurso para proceder com autenticação na API")
 @Slf4j
-@RequiredArgsConstructor
 @RestController
 @RequestMapping("/api/v1")
 public class AuthenticationController {
     private final JwtUserDetailsService detailsService;
     private final AuthenticationManager authenticationManager;
+    private final Executor passwordHashingExecutor;
+
+    public AuthenticationController(JwtUserDetailsService detailsService,
+                                    AuthenticationManager authenticationManager,
+                                    @Qualifier("passwordHashingExecutor") Executor passwordHashingExecutor) {
+        this.detailsService = detailsService;
+        this.authenticationManager = authenticationManager;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+    }
 
     @Operation(summary = "Autenticar na API", description = "Recurso de autenticação na API",
             security = @SecurityRequirement(name = "security"),
@@ -44,24 +57,30 @@ public class AuthenticationController {
                             content = @Content(mediaType = "application/json",
                                     schema = @Schema(implementation = ErrorMessage.class))),
                     @ApiResponse(responseCode = "422", description = "Campos inválidos",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "503", description = "Limite de autenticações simultâneas atingido",
                             content = @Content(mediaType = "application/json",
                                     schema = @Schema(implementation = ErrorMessage.class)))
             })
     @PostMapping("/auth")
-    public ResponseEntity<?> authenticate(@RequestBody @Valid UserLoginDto dto, HttpServletRequest request) {
+    public CompletableFuture<ResponseEntity<?>> authenticate(@RequestBody @Valid UserLoginDto dto, HttpServletRequest request) {
         log.info("Processo de autenticação pelo login{ }", dto.getUsername());
-        try {
-            UsernamePasswordAuthenticationToken authenticationToken =
-                    new UsernamePasswordAuthenticationToken(dto.getUsername(), dto.getPassword());
-            authenticationManager.authenticate(authenticationToken);
-            JwtToken token = detailsService.getTokenAuthenticated(dto.getUsername());
+        //bcrypt roda no executor de hashing; a thread da requisição é liberada até a resposta
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                UsernamePasswordAuthenticationToken authenticationToken =
+                        new UsernamePasswordAuthenticationToken(dto.getUsername(), dto.getPassword());
+                Authentication authentication = authenticationManager.authenticate(authenticationToken);
+                JwtToken token = detailsService.getTokenAuthenticated((JwtUserDetails) authentication.getPrincipal());
 
-            return ResponseEntity.ok(token);
-        } catch (AuthenticationException e) {
-            log.warn("Bad credentials from username '{}", dto.getUsername());
-        }
-        return ResponseEntity
-                .badRequest()
-                .body(new ErrorMessage(request, HttpStatus.BAD_REQUEST, "Credenciais Inválidas"));
+                return ResponseEntity.ok(token);
+            } catch (AuthenticationException e) {
+                log.warn("Bad credentials from username '{}", dto.getUsername());
+            }
+            return ResponseEntity
+                    .badRequest()
+                    .body(new ErrorMessage(request, HttpStatus.BAD_REQUEST, "Credenciais Inválidas"));
+        }, passwordHashingExecutor);
     }
 }
@@ -1,14 +1,28 @@
 package com.jorgeroberto.park_api.web.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jorgeroberto.park_api.entities.Customer;
+import com.jorgeroberto.park_api.entities.CustomerVisit;
+import com.jorgeroberto.park_api.entities.CustomerVisitStats;
 import com.jorgeroberto.park_api.jwt.JwtUserDetails;
 import com.jorgeroberto.park_api.repositories.projection.CustomerProjection;
+import com.jorgeroberto.park_api.services.CustomerCursor;
+import com.jorgeroberto.park_api.services.CustomerImportReader;
+import com.jorgeroberto.park_api.services.CustomerImportReport;
+import com.jorgeroberto.park_api.services.CustomerImportService;
 import com.jorgeroberto.park_api.services.CustomerService;
+import com.jorgeroberto.park_api.services.CustomerVisitService;
 import com.jorgeroberto.park_api.services.UserService;
+import com.jorgeroberto.park_api.web.dto.CursorPageDto;
 import com.jorgeroberto.park_api.web.dto.CustomerCreateDto;
+import com.jorgeroberto.park_api.web.dto.CustomerImportResponseDto;
 import com.jorgeroberto.park_api.web.dto.CustomerResponseDto;
+import com.jorgeroberto.park_api.web.dto.CustomerVisitResponseDto;
+import com.jorgeroberto.park_api.web.dto.CustomerVisitSummaryDto;
 import com.jorgeroberto.park_api.web.dto.PageableDto;
+import com.jorgeroberto.park_api.web.dto.mapper.CursorPageMapper;
 import com.jorgeroberto.park_api.web.dto.mapper.CustomerMapper;
+import com.jorgeroberto.park_api.web.dto.mapper.CustomerVisitMapper;
 import com.jorgeroberto.park_api.web.dto.mapper.PageableMapper;
 import com.jorgeroberto.park_api.web.exceptions.ErrorMessage;
 import io.swagger.v3.oas.annotations.Operation;
@@ -24,11 +38,18 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
 import static io.swagger.v3.oas.annotations.enums.ParameterIn.QUERY;
 
 @Tag(name = "Clientes", description = "Contém todas as opereções relativas ao recurso de um cliente")
@@ -36,8 +57,13 @@ import static io.swagger.v3.oas.annotations.enums.ParameterIn.QUERY;
 @RestController
 @RequestMapping("api/v1/customers")
 public class CustomerController {
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final CustomerService customerService;
     private final UserService userService;
+    private final CustomerImportService customerImportService;
+    private final CustomerVisitService customerVisitService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Criar um novo cliente", description = "Recurso para criação de novo cliente, que esteja " +
             "vinculado há um usuário cadastrado. A Requisição exige o uso de Bearer Token e o Acesso é restrito ao role = CUSTOMER",
@@ -63,6 +89,34 @@ public class CustomerController {
         return ResponseEntity.status(201).body(CustomerMapper.toDto(customer));
     }
 
+    @Operation(summary = "Importar clientes em lote", description = "Recurso para cadastrar usuários (role CUSTOMER) e " +
+            "clientes a partir de um arquivo CSV (name,cpf,username,password, cabeçalho opcional) ou NDJSON (um objeto " +
+            "com os mesmos campos por linha). O arquivo é lido em streaming e gravado em blocos; linhas inválidas ou " +
+            "com CPF/username já cadastrado são rejeitadas sem interromper a importação. " +
+            "A Requisição exige o uso de Bearer Token e o Acesso é restrito ao role = ADMIN",
+            security = @SecurityRequirement(name = "security"),
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Todas as linhas foram cadastradas",
+                            content = @Content(mediaType = "application/json;charset=UTF-8", schema = @Schema(implementation = CustomerImportResponseDto.class))),
+                    @ApiResponse(responseCode = "207", description = "Parte das linhas foi rejeitada; o motivo de cada uma está em 'rejected'",
+                            content = @Content(mediaType = "application/json;charset=UTF-8", schema = @Schema(implementation = CustomerImportResponseDto.class))),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permito ao perfil de CLIENTE",
+                            content = @Content(mediaType = "application/json;charset=UTF-8", schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PostMapping(value = "/import", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CustomerImportResponseDto> importCustomers(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                                     InputStream body) throws IOException {
+        CustomerImportReport report;
+        try (CustomerImportReader reader = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                ? CustomerImportReader.ndjson(body, objectMapper)
+                : CustomerImportReader.csv(body)) {
+            report = customerImportService.importCustomers(reader);
+        }
+        return ResponseEntity.status(report.getRejected().isEmpty() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                .body(CustomerMapper.toImportDto(report));
+    }
+
     @Operation(summary = "Localizar um cliente", description = "Recurso para localizar um cliente por um id. " +
             "A Requisição exige o uso de Bearer Token e o Acesso é restrito ao role = ADMIN",
             security = @SecurityRequirement(name = "security"),
@@ -81,6 +135,28 @@ public class CustomerController {
         return ResponseEntity.ok(CustomerMapper.toDto(customer));
     }
 
+    @Operation(summary = "Resumo das estadias de um cliente", description = "Recurso para retornar o total de estadias " +
+            "encerradas, o valor gasto (tarifa menos desconto) e a última saída de um cliente, mantidos a cada check-out. " +
+            "A Requisição exige o uso de Bearer Token e o Acesso é restrito ao role = ADMIN",
+            security = @SecurityRequirement(name = "security"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Recurso localizado com sucesso",
+                            content = @Content(mediaType = "application/json;charset=UTF-8", schema = @Schema(implementation = CustomerVisitSummaryDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Cliente não encontrado",
+                            content = @Content(mediaType = "application/json;charset=UTF-8", schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permito ao perfil de CLIENTE",
+                            content = @Content(mediaType = "application/json;charset=UTF-8", schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @GetMapping("/{id}/summary")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CustomerVisitSummaryDto> getSummary(@PathVariable Long id) {
+        CustomerVisitStats stats = customerVisitService.findStats(id);
+        if (stats == null) {
+            customerService.findById(id); //sem totais: 404 se o cliente não existir, zeros se ainda não tiver estadias
+        }
+        return ResponseEntity.ok(CustomerVisitMapper.toSummaryDto(id, stats));
+    }
+
     @Operation(summary = "Recuperar lista de clientes",
             description = "Requisição exige uso de um bearer token. Acesso restrito a Role='ADMIN' ",
             security = @SecurityRequirement(name = "security"),
@@ -114,6 +190,44 @@ public class CustomerController {
         return ResponseEntity.ok(PageableMapper.toDto(customers));
     }
 
+    @Operation(summary = "Recuperar lista de clientes por cursor",
+            description = "Paginação por cursor (keyset) sobre a ordenação nome, id, sem consulta de total de elementos. " +
+                    "Envie 'after' vazio para a primeira página e o valor de 'next' da resposta para as seguintes. " +
+                    "Requisição exige uso de um bearer token. Acesso restrito a Role='ADMIN' ",
+            security = @SecurityRequirement(name = "security"),
+            parameters = {
+                    @Parameter(in = QUERY, name = "after", required = true,
+                            content = @Content(schema = @Schema(type = "string")),
+                            description = "Cursor opaco retornado em 'next' pela página anterior"
+                    ),
+                    @Parameter(in = QUERY, name = "size",
+                            content = @Content(schema = @Schema(type = "integer", defaultValue = "5")),
+                            description = "Representa o total de elementos por página"
+                    )
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Recurso recuperado com sucesso",
+                            content = @Content(mediaType = "application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = CursorPageDto.class))
+                    ),
+                    @ApiResponse(responseCode = "400", description = "Cursor inválido",
+                            content = @Content(mediaType = "application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permito ao perfil de CLIENTE",
+                            content = @Content(mediaType = "application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            })
+    @GetMapping(params = "after")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPageDto> findAllAfter(@RequestParam String after,
+                                                      @Parameter(hidden = true) @PageableDefault(size = 5) Pageable pageable) {
+        int size = pageable.getPageSize();
+        List<CustomerProjection> customers = customerService.findAll(CustomerCursor.decode(after), size + 1);
+        return ResponseEntity.ok(CursorPageMapper.toDto(customers, size));
+    }
+
     @Operation(summary = "Recuperar dados de um cliente autenticado", description = "A Requisição exige o uso de Bearer Token " +
             "e o Acesso é restrito ao role = CUSTOMER",
             security = @SecurityRequirement(name = "security"),
@@ -131,4 +245,35 @@ public class CustomerController {
         Customer customer = customerService.findByUserId(userDetails.getId());
         return ResponseEntity.ok(CustomerMapper.toDto(customer));
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Recuperar histórico de estadias do cliente autenticado", description = "Estadias encerradas " +
+            "do cliente, da entrada mais recente para a mais antiga. A Requisição exige o uso de Bearer Token " +
+            "e o Acesso é restrito ao role = CUSTOMER",
+            security = @SecurityRequirement(name = "security"),
+            parameters = {
+                    @Parameter(in = QUERY, name = "page",
+                            content = @Content(schema = @Schema(type = "integer", defaultValue = "0")),
+                            description = "Representa a página retornada"
+                    ),
+                    @Parameter(in = QUERY, name = "size",
+                            content = @Content(schema = @Schema(type = "integer", defaultValue = "5")),
+                            description = "Representa o total de elementos por página"
+                    )
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Recurso recuperado com sucesso",
+                            content = @Content(mediaType = "application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = CustomerVisitResponseDto.class))),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permitido ao perfil ADMIN",
+                            content = @Content(mediaType = "application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @GetMapping("/details/history")
+    @PreAuthorize("hasRole('CUSTOMER')")
+    public ResponseEntity<PageableDto> getHistory(@AuthenticationPrincipal JwtUserDetails userDetails,
+                                                  @Parameter(hidden = true) @PageableDefault(size = 5) Pageable pageable) {
+        Customer customer = customerService.findByUserId(userDetails.getId());
+        Page<CustomerVisit> visits = customerVisitService.findByCustomerId(customer.getId(), pageable);
+        return ResponseEntity.ok(PageableMapper.toDto(visits.map(CustomerVisitMapper::toDto)));
+    }
+}
@@ -0,0 +1,112 @@
+package com.jorgeroberto.park_api.web.controllers;
+
+import com.jorgeroberto.park_api.entities.CustomerParkingSpace;
+import com.jorgeroberto.park_api.services.CustomerParkingSpaceService;
+import com.jorgeroberto.park_api.services.ParkingService;
+import com.jorgeroberto.park_api.web.dto.ParkingCreateDto;
+import com.jorgeroberto.park_api.web.dto.ParkingResponseDto;
+import com.jorgeroberto.park_api.web.dto.mapper.ParkingMapper;
+import com.jorgeroberto.park_api.web.exceptions.ErrorMessage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+
+import static io.swagger.v3.oas.annotations.enums.ParameterIn.PATH;
+
+@Tag(name = "Estacionamentos", description = "Operações de registro de entrada e saída de um veículo do estacionamento")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/v1/parking")
+public class ParkingController {
+    private final ParkingService parkingService;
+    private final CustomerParkingSpaceService customerParkingSpaceService;
+
+    @Operation(summary = "Operação de check-in", description = "Recurso para dar entrada de um veículo no estacionamento, " +
+            "ocupando a próxima vaga livre. Requisição exige uso de um bearer token. Acesso restrito ao Role = 'ADMIN'",
+            security = @SecurityRequirement(name = "security"),
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Recurso criado com sucesso",
+                            headers = @Header(name = HttpHeaders.LOCATION, description = "URL de acesso ao recurso criado"),
+                            content = @Content(mediaType = "application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ParkingResponseDto.class))),
+                    @ApiResponse(responseCode = "404", description = "CPF do cliente não cadastrado ou nenhuma vaga livre foi localizada",
+                            content = @Content(mediaType = "application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "422", description = "Recurso não processado por falta de dados ou dados inválidos",
+                            content = @Content(mediaType = "application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permitido ao perfil CUSTOMER",
+                            content = @Content(mediaType = "application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PostMapping("/check-in")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ParkingResponseDto> checkIn(@RequestBody @Valid ParkingCreateDto dto) {
+        CustomerParkingSpace customerParkingSpace = parkingService.checkIn(ParkingMapper.toCustomerParkingSpace(dto));
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentRequestUri()
+                .path("/{receipt}")
+                .buildAndExpand(customerParkingSpace.getReceipt())
+                .toUri();
+        return ResponseEntity.created(location).body(ParkingMapper.toDto(customerParkingSpace));
+    }
+
+    @Operation(summary = "Localizar um veículo estacionado", description = "Recurso para retornar um veículo estacionado " +
+            "pelo número do recibo. Requisição exige uso de um bearer token. Acesso restrito ao Role = 'ADMIN'",
+            security = @SecurityRequirement(name = "security"),
+            parameters = {
+                    @Parameter(in = PATH, name = "receipt", description = "Número do recibo gerado pelo check-in")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Recurso localizado com sucesso",
+                            content = @Content(mediaType = "application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ParkingResponseDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Número do recibo não encontrado",
+                            content = @Content(mediaType = "application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @GetMapping("/check-in/{receipt}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ParkingResponseDto> findByReceipt(@PathVariable String receipt) {
+        CustomerParkingSpace customerParkingSpace = customerParkingSpaceService.findByReceipt(receipt);
+        return ResponseEntity.ok(ParkingMapper.toDto(customerParkingSpace));
+    }
+
+    @Operation(summary = "Operação de check-out", description = "Recurso para dar saída de um veículo do estacionamento, " +
+            "liberando a vaga. Requisição exige uso de um bearer token. Acesso restrito ao Role = 'ADMIN'",
+            security = @SecurityRequirement(name = "security"),
+            parameters = {
+                    @Parameter(in = PATH, name = "receipt", description = "Número do recibo gerado pelo check-in", required = true)
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Recurso atualizado com sucesso",
+                            content = @Content(mediaType = "application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ParkingResponseDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Número do recibo inexistente ou o veículo já passou pelo check-out",
+                            content = @Content(mediaType = "application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permitido ao perfil CUSTOMER",
+                            content = @Content(mediaType = "application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PutMapping("/check-out/{receipt}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ParkingResponseDto> checkOut(@PathVariable String receipt) {
+        CustomerParkingSpace customerParkingSpace = parkingService.checkOut(receipt);
+        return ResponseEntity.ok(ParkingMapper.toDto(customerParkingSpace));
+    }
+}
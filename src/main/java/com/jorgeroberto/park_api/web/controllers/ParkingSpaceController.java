@@ -1,27 +1,46 @@
 package com.jorgeroberto.park_api.web.controllers;
 
 import com.jorgeroberto.park_api.entities.ParkingSpace;
+import com.jorgeroberto.park_api.services.ParkingOccupancyService;
+import com.jorgeroberto.park_api.services.ParkingSpaceBatchResult;
+import com.jorgeroberto.park_api.services.ParkingSpaceBatchService;
+import com.jorgeroberto.park_api.services.ParkingSpaceEventBroadcaster;
 import com.jorgeroberto.park_api.services.ParkingSpaceService;
+import com.jorgeroberto.park_api.web.dto.OccupancyResponseDto;
+import com.jorgeroberto.park_api.web.dto.ParkingSpaceBatchResponseDto;
 import com.jorgeroberto.park_api.web.dto.ParkingSpaceCreateDto;
+import com.jorgeroberto.park_api.web.dto.ParkingSpaceEventDto;
 import com.jorgeroberto.park_api.web.dto.ParkingSpaceResponseDto;
+import com.jorgeroberto.park_api.web.dto.mapper.OccupancyMapper;
 import com.jorgeroberto.park_api.web.dto.mapper.ParkingSpaceMapper;
 import com.jorgeroberto.park_api.web.exceptions.ErrorMessage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 import java.net.URI;
+import java.time.Duration;
+import java.util.List;
 
 @Tag(name = "ParkingSpace", description = "Contém todas as operações relativas ao recurso de uma vaga")
 @RequiredArgsConstructor
@@ -29,6 +48,12 @@ import java.net.URI;
 @RequestMapping("api/v1/parking")
 public class ParkingSpaceController {
     private final ParkingSpaceService parkingSpaceService;
+    private final ParkingSpaceBatchService parkingSpaceBatchService;
+    private final ParkingOccupancyService parkingOccupancyService;
+    private final ParkingSpaceEventBroadcaster parkingSpaceEventBroadcaster;
+
+    @Value("${park.parking.events.heartbeat-ms:15000}")
+    private long heartbeatMs;
 
     @Operation(summary = "Criar uma nova vaga", description = "Recurso para criar uma nova vaga." +
             "Requisição exige uso de um bearer token. Acesso restrito ao Role = 'ADMIN'",
@@ -60,6 +85,76 @@ public class ParkingSpaceController {
         return ResponseEntity.created(location).build();
     }
 
+    @Operation(summary = "Criar vagas em lote", description = "Recurso para criar até 500 vagas em uma requisição. " +
+            "Códigos já cadastrados ou repetidos no lote retornam CONFLICT sem impedir a criação das demais vagas. " +
+            "Requisição exige uso de um bearer token. Acesso restrito ao Role = 'ADMIN'",
+            security = @SecurityRequirement(name  = "security"),
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Todas as vagas foram criadas",
+                            content = @Content(mediaType = "application/json;charset=UTF-8",
+                                    array = @ArraySchema(schema = @Schema(implementation = ParkingSpaceBatchResponseDto.class)))),
+                    @ApiResponse(responseCode = "207", description = "Parte das vagas não foi criada; o status de cada uma vem no corpo",
+                            content = @Content(mediaType = "application/json;charset=UTF-8",
+                                    array = @ArraySchema(schema = @Schema(implementation = ParkingSpaceBatchResponseDto.class)))),
+                    @ApiResponse(responseCode = "422", description = "Lote vazio, acima de 500 vagas ou com dados inválidos",
+                            content = @Content(mediaType = "application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permitido ao perfil CUSTOMER",
+                            content = @Content(mediaType = "application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ParkingSpaceBatchResponseDto>> saveAll(
+            @RequestBody @NotEmpty @Size(max = 500) List<@Valid ParkingSpaceCreateDto> dtos) {
+        List<ParkingSpaceBatchResult> results = parkingSpaceBatchService.saveAll(ParkingSpaceMapper.toListParkingSpace(dtos));
+        boolean allCreated = results.stream().allMatch(r -> r.getStatus() == ParkingSpaceBatchResult.Status.CREATED);
+        return ResponseEntity.status(allCreated ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                .body(ParkingSpaceMapper.toListBatchDto(results));
+    }
+
+    @Operation(summary = "Ocupação do estacionamento", description = "Recurso para retornar o total de vagas livres e " +
+            "ocupadas, no geral e por nível (prefixo do código, ex.: 'A-'), para os painéis das entradas. " +
+            "Os números vêm de contadores em memória, sem consulta ao banco. Acesso público",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Recurso localizado com sucesso",
+                            content = @Content(mediaType = "application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = OccupancyResponseDto.class)))
+            })
+    @GetMapping("/occupancy")
+    public ResponseEntity<OccupancyResponseDto> findOccupancy() {
+        return ResponseEntity.ok(OccupancyMapper.toDto(
+                parkingOccupancyService.getTotal(), parkingOccupancyService.getLevels()));
+    }
+
+    @Operation(summary = "Acompanhar mudanças de status das vagas", description = "Stream (Server-Sent Events) com as " +
+            "mudanças de status das vagas à medida que são efetivadas, substituindo a consulta periódica de cada vaga. " +
+            "Mudanças seguidas de uma vaga podem chegar combinadas em um único evento e o cliente que não acompanha " +
+            "o ritmo dos eventos é desconectado. Requisição exige uso de um bearer token. Acesso restrito ao Role = 'ADMIN'",
+            security = @SecurityRequirement(name = "security"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Stream aberto com sucesso",
+                            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                                    schema = @Schema(implementation = ParkingSpaceEventDto.class))),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permitido ao perfil CUSTOMER",
+                            content = @Content(mediaType = "application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Flux<ServerSentEvent<ParkingSpaceEventDto>> streamEvents() {
+        Flux<ServerSentEvent<ParkingSpaceEventDto>> events = parkingSpaceEventBroadcaster.subscribe()
+                .map(event -> ServerSentEvent.builder(ParkingSpaceMapper.toEventDto(event))
+                        .event("status")
+                        .build());
+        // comentário periódico mantém a conexão viva em proxies e detecta clientes que já foram embora;
+        // o primeiro sai logo na conexão para enviar os headers da resposta
+        Flux<ServerSentEvent<ParkingSpaceEventDto>> heartbeat = Flux
+                .interval(Duration.ZERO, Duration.ofMillis(heartbeatMs), Schedulers.boundedElastic())
+                .map(tick -> ServerSentEvent.<ParkingSpaceEventDto>builder().comment("heartbeat").build());
+        return Flux.merge(events, heartbeat);
+    }
+
     @Operation(summary = "Localizar uma vaga", description = "Recurso para retornar uma vaga pelo código." +
             "Requisição exige uso de um bearer token. Acesso restrito ao Role = 'ADMIN'",
             security = @SecurityRequirement(name = "security"),
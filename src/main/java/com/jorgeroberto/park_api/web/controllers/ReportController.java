@@ -0,0 +1,66 @@
+package com.jorgeroberto.park_api.web.controllers;
+
+import com.jorgeroberto.park_api.entities.OccupancyRollup;
+import com.jorgeroberto.park_api.services.OccupancyRollupService;
+import com.jorgeroberto.park_api.web.dto.OccupancyReportResponseDto;
+import com.jorgeroberto.park_api.web.dto.mapper.OccupancyReportMapper;
+import com.jorgeroberto.park_api.web.exceptions.ErrorMessage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static io.swagger.v3.oas.annotations.enums.ParameterIn.QUERY;
+
+@Tag(name = "Relatórios", description = "Relatórios gerenciais do estacionamento")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/v1/reports")
+public class ReportController {
+    private final OccupancyRollupService occupancyRollupService;
+
+    @Operation(summary = "Relatório de ocupação e receita", description = "Minutos de ocupação, check-outs e receita " +
+            "(tarifa menos desconto) por intervalo de uma hora ou um dia, no total e por nível de vagas. Os valores vêm " +
+            "dos agregados atualizados a partir dos check-outs (com alguns segundos de atraso) e contam apenas estadias " +
+            "encerradas. Requisição exige uso de um bearer token. Acesso restrito ao Role = 'ADMIN'",
+            security = @SecurityRequirement(name = "security"),
+            parameters = {
+                    @Parameter(in = QUERY, name = "from", required = true, description = "Início do período (ISO, ex.: 2026-10-01T00:00)"),
+                    @Parameter(in = QUERY, name = "to", required = true, description = "Fim do período, exclusivo"),
+                    @Parameter(in = QUERY, name = "granularity", description = "HOUR (padrão) ou DAY")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Recurso recuperado com sucesso",
+                            content = @Content(mediaType = "application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = OccupancyReportResponseDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Período vazio ou com intervalos acima do limite",
+                            content = @Content(mediaType = "application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permitido ao perfil CUSTOMER",
+                            content = @Content(mediaType = "application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @GetMapping("/occupancy")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<OccupancyReportResponseDto> getOccupancy(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "HOUR") OccupancyRollup.Granularity granularity) {
+        List<OccupancyRollup> rollups = occupancyRollupService.findRange(granularity, from, to);
+        return ResponseEntity.ok(OccupancyReportMapper.toDto(granularity, from, to, rollups));
+    }
+}
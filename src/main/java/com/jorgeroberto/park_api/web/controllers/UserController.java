@@ -1,13 +1,19 @@
 package com.jorgeroberto.park_api.web.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.jorgeroberto.park_api.entities.User;
 import com.jorgeroberto.park_api.services.UserService;
+import com.jorgeroberto.park_api.web.dto.PageableDto;
 import com.jorgeroberto.park_api.web.dto.UserCreateDto;
 import com.jorgeroberto.park_api.web.dto.UserPasswordDto;
 import com.jorgeroberto.park_api.web.dto.UserResponseDto;
+import com.jorgeroberto.park_api.web.dto.mapper.PageableMapper;
 import com.jorgeroberto.park_api.web.dto.mapper.UserMapper;
 import com.jorgeroberto.park_api.web.exceptions.ErrorMessage;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -15,21 +21,40 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static io.swagger.v3.oas.annotations.enums.ParameterIn.QUERY;
 
 @Tag(name = "Users", description = "Contém todas as operações relativas aos recursos para cadastro, edição e leitura de um usuário")
-@RequiredArgsConstructor
 @RestController
 @RequestMapping("api/v1/users")
 public class UserController {
 
     private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final Executor passwordHashingExecutor;
+
+    public UserController(UserService userService,
+                          ObjectMapper objectMapper,
+                          @Qualifier("passwordHashingExecutor") Executor passwordHashingExecutor) {
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+    }
 
     @Operation(summary = "Criar um novo usuário", description = "Recurso para ciração de novo usuário",
     responses = {
@@ -85,26 +110,73 @@ public class UserController {
             })
     @PatchMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'CUSTOMER') AND (#id == authentication.principal.id)")
-    public ResponseEntity<UserResponseDto> updatePassword (@PathVariable Long id, @Valid @RequestBody UserPasswordDto dto) {
-        User user = userService.updatePassword(id, dto.getCurrentPassword(), dto.getNewPassword(), dto.getConfirmNewPassword());
-        return ResponseEntity.noContent().build();
+    public CompletableFuture<ResponseEntity<UserResponseDto>> updatePassword (@PathVariable Long id, @Valid @RequestBody UserPasswordDto dto) {
+        //bcrypt roda no executor de hashing; a thread da requisição é liberada até a resposta
+        return CompletableFuture.supplyAsync(() -> {
+            userService.updatePassword(id, dto.getCurrentPassword(), dto.getNewPassword(), dto.getConfirmNewPassword());
+            return ResponseEntity.noContent().<UserResponseDto>build();
+        }, passwordHashingExecutor);
     }
 
     @Operation(summary = "Recuperar todos os usuários", description = "Requisição exige um Bearer Token. Acesso restrito a ADMIN",
             security = @SecurityRequirement(name = "security"),
+            parameters = {
+                    @Parameter(in = QUERY, name = "page",
+                            content = @Content(schema = @Schema(type = "integer", defaultValue = "0")),
+                            description = "Representa a página retornada"
+                    ),
+                    @Parameter(in = QUERY, name = "size",
+                            content = @Content(schema = @Schema(type = "integer", defaultValue = "5")),
+                            description = "Representa o total de elementos por página"
+                    ),
+                    @Parameter(in = QUERY, name = "sort", hidden = true,
+                            array = @ArraySchema(schema = @Schema(type = "string", defaultValue = "id,asc")),
+                            description = "Representa a ordenação dos resultados. Aceita multiplos critérios de ordenação são suportados.")
+            },
             responses = {
-                    @ApiResponse(responseCode = "200", description = "Lista com todos os usuários cadastrados",
+                    @ApiResponse(responseCode = "200", description = "Página com os usuários cadastrados",
                             content = @Content(mediaType = "application/json",
-                                    array = @ArraySchema(schema = @Schema(implementation = UserResponseDto.class)))),
+                                    schema = @Schema(implementation = PageableDto.class))),
                     @ApiResponse(responseCode = "403", description = "Usuário sem permissão para acessar esse recurso",
                             content = @Content(mediaType = "application/json",
                                     schema = @Schema(implementation = ErrorMessage.class)))
             })
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserResponseDto>> findAll () {
-        List<User> users = userService.findAll();
-        return ResponseEntity.ok(UserMapper.toListDto(users));
+    public ResponseEntity<PageableDto> findAll (@Parameter(hidden = true) @PageableDefault(size = 5, sort = {"id"}) Pageable pageable) {
+        Page<UserResponseDto> users = userService.findAll(pageable).map(UserMapper::toDto);
+        return ResponseEntity.ok(PageableMapper.toDto(users));
+    }
+
+    @Operation(summary = "Exportar todos os usuários em streaming", description = "Retorna todos os usuários em NDJSON " +
+            "(um objeto JSON por linha), escritos à medida que são lidos do banco. Requisição exige um Bearer Token. " +
+            "Acesso restrito a ADMIN",
+            security = @SecurityRequirement(name = "security"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Usuários cadastrados, um por linha",
+                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = UserResponseDto.class))),
+                    @ApiResponse(responseCode = "403", description = "Usuário sem permissão para acessar esse recurso",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamAll () {
+        StreamingResponseBody body = outputStream -> {
+            // sem AUTO_CLOSE_TARGET o writer não fecha o stream da resposta após a primeira linha
+            ObjectWriter writer = objectMapper.writerFor(UserResponseDto.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            userService.forEachUser(user -> {
+                try {
+                    writer.writeValue(outputStream, UserMapper.toDto(user));
+                    outputStream.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            outputStream.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
 }
@@ -0,0 +1,24 @@
+package com.jorgeroberto.park_api.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter @Setter
+public class CursorPageDto {
+
+    private List content = new ArrayList<>();
+
+    private int size;
+
+    @JsonProperty("pageElements") //mesmo nome usado no PageableDto
+    private int numberOfElements;
+
+    private boolean last;
+
+    // Token a ser enviado em 'after' para buscar a próxima página; null na última página
+    private String next;
+}
@@ -0,0 +1,15 @@
+package com.jorgeroberto.park_api.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CustomerImportRejectedDto {
+    private long line;
+    private String username;
+    private String cpf;
+    private String status;
+    private String message;
+}
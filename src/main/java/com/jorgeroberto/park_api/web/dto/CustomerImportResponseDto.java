@@ -0,0 +1,13 @@
+package com.jorgeroberto.park_api.web.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+public class CustomerImportResponseDto {
+    private long total;
+    private long created;
+    private List<CustomerImportRejectedDto> rejected;
+}
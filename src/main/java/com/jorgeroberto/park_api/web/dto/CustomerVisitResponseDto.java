@@ -0,0 +1,18 @@
+package com.jorgeroberto.park_api.web.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+public class CustomerVisitResponseDto {
+    private String receipt;
+    private String plate;
+    private String parkingSpaceCode;
+    private LocalDateTime entryDate;
+    private LocalDateTime exitDate;
+    private BigDecimal fee;
+    private BigDecimal discount;
+}
@@ -0,0 +1,17 @@
+package com.jorgeroberto.park_api.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CustomerVisitSummaryDto {
+    private Long customerId;
+    private long visits;
+    private BigDecimal totalSpent;
+    private LocalDateTime lastVisit;
+}
@@ -0,0 +1,20 @@
+package com.jorgeroberto.park_api.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OccupancyReportBucketDto {
+    private LocalDateTime start;
+    private String level;
+    private long occupiedMinutes;
+    private long checkOuts;
+    private BigDecimal revenue;
+    private List<OccupancyReportBucketDto> levels;
+}
@@ -0,0 +1,15 @@
+package com.jorgeroberto.park_api.web.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+public class OccupancyReportResponseDto {
+    private String granularity;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<OccupancyReportBucketDto> buckets;
+}
@@ -0,0 +1,17 @@
+package com.jorgeroberto.park_api.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OccupancyResponseDto {
+    private String level;
+    private long total;
+    private long free;
+    private long busy;
+    private List<OccupancyResponseDto> levels;
+}
@@ -0,0 +1,31 @@
+package com.jorgeroberto.park_api.web.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import org.hibernate.validator.constraints.br.CPF;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+public class ParkingCreateDto {
+
+    @NotBlank
+    @Size(min = 7, max = 8)
+    @Pattern(regexp = "[A-Z]{3}-?[0-9][A-Z0-9][0-9]{2}", message = "A placa deve seguir o padrão 'XXX-0000' ou 'XXX0X00'")
+    private String plate;
+
+    @NotBlank
+    private String brand;
+
+    @NotBlank
+    private String model;
+
+    @NotBlank
+    private String color;
+
+    @NotBlank
+    @Size(min = 11, max = 11)
+    @CPF
+    private String customerCpf;
+}
@@ -0,0 +1,24 @@
+package com.jorgeroberto.park_api.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ParkingResponseDto {
+    private String plate;
+    private String brand;
+    private String model;
+    private String color;
+    private String customerCpf;
+    private String receipt;
+    private LocalDateTime entryDate;
+    private LocalDateTime exitDate;
+    private String parkingSpaceCode;
+    private BigDecimal fee;
+    private BigDecimal discount;
+}
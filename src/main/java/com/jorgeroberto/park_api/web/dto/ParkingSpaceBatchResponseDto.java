@@ -0,0 +1,13 @@
+package com.jorgeroberto.park_api.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+public class ParkingSpaceBatchResponseDto {
+    private String code;
+    private String status;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String message;
+}
@@ -0,0 +1,14 @@
+package com.jorgeroberto.park_api.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+public class ParkingSpaceEventDto {
+    private String code;
+    //Ausente quando a vaga acabou de ser criada
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String previous;
+    private String current;
+}
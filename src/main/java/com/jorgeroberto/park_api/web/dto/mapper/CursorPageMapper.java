@@ -0,0 +1,27 @@
+package com.jorgeroberto.park_api.web.dto.mapper;
+
+import com.jorgeroberto.park_api.repositories.projection.CustomerProjection;
+import com.jorgeroberto.park_api.services.CustomerCursor;
+import com.jorgeroberto.park_api.web.dto.CursorPageDto;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CursorPageMapper {
+
+    //Recebe até size + 1 linhas; a linha excedente só indica que existe uma próxima página
+    public static CursorPageDto toDto(List<CustomerProjection> customers, int size) {
+        boolean last = customers.size() <= size;
+        List<CustomerProjection> content = last ? customers : customers.subList(0, size);
+
+        CursorPageDto dto = new CursorPageDto();
+        dto.setContent(content);
+        dto.setSize(size);
+        dto.setNumberOfElements(content.size());
+        dto.setLast(last);
+        dto.setNext(last ? null : CustomerCursor.of(content.get(content.size() - 1)).encode());
+        return dto;
+    }
+}
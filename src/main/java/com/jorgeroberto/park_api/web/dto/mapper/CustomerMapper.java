@@ -1,19 +1,30 @@
 package com.jorgeroberto.park_api.web.dto.mapper;
 
 import com.jorgeroberto.park_api.entities.Customer;
+import com.jorgeroberto.park_api.services.CustomerImportReport;
 import com.jorgeroberto.park_api.web.dto.CustomerCreateDto;
+import com.jorgeroberto.park_api.web.dto.CustomerImportRejectedDto;
+import com.jorgeroberto.park_api.web.dto.CustomerImportResponseDto;
 import com.jorgeroberto.park_api.web.dto.CustomerResponseDto;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import org.modelmapper.ModelMapper;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class CustomerMapper {
     public static Customer toCustomer(CustomerCreateDto dto) {
-        return new ModelMapper().map(dto, Customer.class);
+        Customer customer = new Customer();
+        customer.setName(dto.getName());
+        customer.setCpf(dto.getCpf());
+        return customer;
     }
 
     public static CustomerResponseDto toDto(Customer customer) {
-        return new ModelMapper().map(customer, CustomerResponseDto.class);
+        return new CustomerResponseDto(customer.getId(), customer.getName(), customer.getCpf());
+    }
+
+    public static CustomerImportResponseDto toImportDto(CustomerImportReport report) {
+        return new CustomerImportResponseDto(report.getTotal(), report.getCreated(), report.getRejected().stream()
+                .map(r -> new CustomerImportRejectedDto(r.getLine(), r.getUsername(), r.getCpf(), r.getStatus().name(), r.getMessage()))
+                .toList());
     }
 }
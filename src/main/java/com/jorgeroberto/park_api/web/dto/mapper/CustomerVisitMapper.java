@@ -0,0 +1,34 @@
+package com.jorgeroberto.park_api.web.dto.mapper;
+
+import com.jorgeroberto.park_api.entities.CustomerVisit;
+import com.jorgeroberto.park_api.entities.CustomerVisitStats;
+import com.jorgeroberto.park_api.web.dto.CustomerVisitResponseDto;
+import com.jorgeroberto.park_api.web.dto.CustomerVisitSummaryDto;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CustomerVisitMapper {
+
+    public static CustomerVisitResponseDto toDto(CustomerVisit visit) {
+        return new CustomerVisitResponseDto(
+                visit.getReceipt(),
+                visit.getPlate(),
+                visit.getParkingSpaceCode(),
+                visit.getEntryDate(),
+                visit.getExitDate(),
+                visit.getFee(),
+                visit.getDiscount()
+        );
+    }
+
+    //Cliente sem estadias encerradas não tem linha de totais
+    public static CustomerVisitSummaryDto toSummaryDto(Long customerId, CustomerVisitStats stats) {
+        if (stats == null) {
+            return new CustomerVisitSummaryDto(customerId, 0, BigDecimal.ZERO.setScale(2), null);
+        }
+        return new CustomerVisitSummaryDto(customerId, stats.getVisitCount(), stats.getTotalSpent(), stats.getLastVisit());
+    }
+}
@@ -0,0 +1,28 @@
+package com.jorgeroberto.park_api.web.dto.mapper;
+
+import com.jorgeroberto.park_api.services.ParkingOccupancy;
+import com.jorgeroberto.park_api.web.dto.OccupancyResponseDto;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class OccupancyMapper {
+
+    public static OccupancyResponseDto toDto(ParkingOccupancy total, List<ParkingOccupancy> levels) {
+        OccupancyResponseDto dto = toDto(total);
+        dto.setLevels(levels.stream().map(OccupancyMapper::toDto).toList());
+        return dto;
+    }
+
+    public static OccupancyResponseDto toDto(ParkingOccupancy occupancy) {
+        return new OccupancyResponseDto(
+                occupancy.getLevel(),
+                occupancy.getTotal(),
+                occupancy.getFree(),
+                occupancy.getBusy(),
+                null
+        );
+    }
+}
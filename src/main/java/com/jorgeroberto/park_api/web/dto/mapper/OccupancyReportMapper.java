@@ -0,0 +1,42 @@
+package com.jorgeroberto.park_api.web.dto.mapper;
+
+import com.jorgeroberto.park_api.entities.OccupancyRollup;
+import com.jorgeroberto.park_api.services.OccupancyRollupService;
+import com.jorgeroberto.park_api.web.dto.OccupancyReportBucketDto;
+import com.jorgeroberto.park_api.web.dto.OccupancyReportResponseDto;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class OccupancyReportMapper {
+
+    //Um item por intervalo do período, inclusive os sem movimento; rollups vem ordenado por intervalo e nível
+    public static OccupancyReportResponseDto toDto(OccupancyRollup.Granularity granularity, LocalDateTime from,
+                                                   LocalDateTime to, List<OccupancyRollup> rollups) {
+        Map<LocalDateTime, List<OccupancyRollup>> byBucket = rollups.stream()
+                .collect(Collectors.groupingBy(OccupancyRollup::getBucketStart));
+        ChronoUnit unit = OccupancyRollupService.unit(granularity);
+
+        List<OccupancyReportBucketDto> buckets = new ArrayList<>();
+        for (LocalDateTime start = OccupancyRollupService.truncate(from, granularity); start.isBefore(to); start = start.plus(1, unit)) {
+            List<OccupancyReportBucketDto> levels = byBucket.getOrDefault(start, List.of()).stream()
+                    .map(r -> new OccupancyReportBucketDto(null, r.getLevel(), r.getOccupiedSeconds() / 60,
+                            r.getCheckOuts(), r.getRevenue(), null))
+                    .toList();
+            long seconds = byBucket.getOrDefault(start, List.of()).stream().mapToLong(OccupancyRollup::getOccupiedSeconds).sum();
+            buckets.add(new OccupancyReportBucketDto(start, null, seconds / 60,
+                    levels.stream().mapToLong(OccupancyReportBucketDto::getCheckOuts).sum(),
+                    levels.stream().map(OccupancyReportBucketDto::getRevenue).reduce(BigDecimal.ZERO.setScale(2), BigDecimal::add),
+                    levels));
+        }
+        return new OccupancyReportResponseDto(granularity.name(), from, to, buckets);
+    }
+}
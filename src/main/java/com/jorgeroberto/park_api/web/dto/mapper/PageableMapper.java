@@ -3,12 +3,20 @@ package com.jorgeroberto.park_api.web.dto.mapper;
 import com.jorgeroberto.park_api.web.dto.PageableDto;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class PageableMapper {
     public static PageableDto toDto(Page page) {
-        return new ModelMapper().map(page, PageableDto.class);
+        PageableDto dto = new PageableDto();
+        dto.setContent(page.getContent());
+        dto.setFirst(page.isFirst());
+        dto.setLast(page.isLast());
+        dto.setNumber(page.getNumber());
+        dto.setSize(page.getSize());
+        dto.setNumberOfElements(page.getNumberOfElements());
+        dto.setTotalPages(page.getTotalPages());
+        dto.setTotalElements((int) page.getTotalElements());
+        return dto;
     }
 }
@@ -0,0 +1,41 @@
+package com.jorgeroberto.park_api.web.dto.mapper;
+
+import com.jorgeroberto.park_api.entities.Customer;
+import com.jorgeroberto.park_api.entities.CustomerParkingSpace;
+import com.jorgeroberto.park_api.web.dto.ParkingCreateDto;
+import com.jorgeroberto.park_api.web.dto.ParkingResponseDto;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ParkingMapper {
+
+    public static CustomerParkingSpace toCustomerParkingSpace(ParkingCreateDto dto) {
+        Customer customer = new Customer();
+        customer.setCpf(dto.getCustomerCpf());
+
+        CustomerParkingSpace customerParkingSpace = new CustomerParkingSpace();
+        customerParkingSpace.setPlate(dto.getPlate());
+        customerParkingSpace.setBrand(dto.getBrand());
+        customerParkingSpace.setModel(dto.getModel());
+        customerParkingSpace.setColor(dto.getColor());
+        customerParkingSpace.setCustomer(customer);
+        return customerParkingSpace;
+    }
+
+    public static ParkingResponseDto toDto(CustomerParkingSpace customerParkingSpace) {
+        return new ParkingResponseDto(
+                customerParkingSpace.getPlate(),
+                customerParkingSpace.getBrand(),
+                customerParkingSpace.getModel(),
+                customerParkingSpace.getColor(),
+                customerParkingSpace.getCustomer() != null ? customerParkingSpace.getCustomer().getCpf() : null,
+                customerParkingSpace.getReceipt(),
+                customerParkingSpace.getEntryDate(),
+                customerParkingSpace.getExitDate(),
+                customerParkingSpace.getParkingSpace() != null ? customerParkingSpace.getParkingSpace().getCode() : null,
+                customerParkingSpace.getFee(),
+                customerParkingSpace.getDiscount()
+        );
+    }
+}
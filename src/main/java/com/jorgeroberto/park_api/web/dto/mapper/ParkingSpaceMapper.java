@@ -1,21 +1,51 @@
 package com.jorgeroberto.park_api.web.dto.mapper;
 
 import com.jorgeroberto.park_api.entities.ParkingSpace;
+import com.jorgeroberto.park_api.events.ParkingSpaceStatusChangedEvent;
+import com.jorgeroberto.park_api.services.ParkingSpaceBatchResult;
+import com.jorgeroberto.park_api.web.dto.ParkingSpaceBatchResponseDto;
 import com.jorgeroberto.park_api.web.dto.ParkingSpaceCreateDto;
+import com.jorgeroberto.park_api.web.dto.ParkingSpaceEventDto;
 import com.jorgeroberto.park_api.web.dto.ParkingSpaceResponseDto;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import org.modelmapper.ModelMapper;
+
+import java.util.List;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class ParkingSpaceMapper {
 
     public static ParkingSpace toParkingSpace(ParkingSpaceCreateDto dto) {
-        return new ModelMapper().map(dto, ParkingSpace.class);
+        ParkingSpace parkingSpace = new ParkingSpace();
+        parkingSpace.setCode(dto.getCode());
+        parkingSpace.setStatus(dto.getStatus() != null ? ParkingSpace.ParkingStatus.valueOf(dto.getStatus()) : null);
+        return parkingSpace;
     }
 
     public static ParkingSpaceResponseDto toDto(ParkingSpace parkingSpace) {
-        return new ModelMapper().map(parkingSpace, ParkingSpaceResponseDto.class);
+        return new ParkingSpaceResponseDto(
+                parkingSpace.getId(),
+                parkingSpace.getCode(),
+                parkingSpace.getStatus() != null ? parkingSpace.getStatus().name() : null
+        );
+    }
+
+    public static List<ParkingSpace> toListParkingSpace(List<ParkingSpaceCreateDto> dtos) {
+        return dtos.stream().map(ParkingSpaceMapper::toParkingSpace).toList();
+    }
+
+    public static List<ParkingSpaceBatchResponseDto> toListBatchDto(List<ParkingSpaceBatchResult> results) {
+        return results.stream()
+                .map(r -> new ParkingSpaceBatchResponseDto(r.getCode(), r.getStatus().name(), r.getMessage()))
+                .toList();
+    }
+
+    public static ParkingSpaceEventDto toEventDto(ParkingSpaceStatusChangedEvent event) {
+        return new ParkingSpaceEventDto(
+                event.getCode(),
+                event.getPrevious() != null ? event.getPrevious().name() : null,
+                event.getCurrent().name()
+        );
     }
 
 }
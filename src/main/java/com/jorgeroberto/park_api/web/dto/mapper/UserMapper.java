@@ -1,33 +1,38 @@
 package com.jorgeroberto.park_api.web.dto.mapper;
 
 import com.jorgeroberto.park_api.entities.User;
+import com.jorgeroberto.park_api.repositories.projection.UserProjection;
 import com.jorgeroberto.park_api.web.dto.UserCreateDto;
 import com.jorgeroberto.park_api.web.dto.UserResponseDto;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.PropertyMap;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
+/*
+ * Mapeamento escrito à mão: sem reflexão nem type maps montados a cada chamada,
+ * os métodos não guardam estado e podem ser usados por várias threads.
+ * */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class UserMapper {
-    public static User  toUser(UserCreateDto createDto) {
-        return new ModelMapper().map(createDto, User.class);
+    private static final int ROLE_PREFIX_LENGTH = "ROLE_".length();
+
+    public static User toUser(UserCreateDto createDto) {
+        User user = new User();
+        user.setUsername(createDto.getUsername());
+        user.setPassword(createDto.getPassword());
+        return user;
     }
 
     public static UserResponseDto toDto(User user) {
-        String role = user.getRole().name().substring("ROLE_".length());
-        PropertyMap<User, UserResponseDto> props = new PropertyMap<User, UserResponseDto>() {
-            @Override
-            protected void configure() {
-                map().setRole(role);
-            }
-        };
-        ModelMapper mapper = new ModelMapper();
-        mapper.addMappings(props);
-        return mapper.map(user, UserResponseDto.class);
+        return new UserResponseDto(user.getId(), user.getUsername(), user.getRole().name().substring(ROLE_PREFIX_LENGTH));
+    }
+
+    public static UserResponseDto toDto(UserProjection user) {
+        return new UserResponseDto(user.getId(), user.getUsername(), user.getRole().name().substring(ROLE_PREFIX_LENGTH));
     }
 
     public static List<UserResponseDto> toListDto(List<User> users) {
-        return users.stream().map(user -> toDto(user)).collect(Collectors.toList());
+        return users.stream().map(UserMapper::toDto).toList();
     }
 }
@@ -0,0 +1,91 @@
+package com.jorgeroberto.park_api.web.exceptions;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.event.Level;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Log dos erros tratados pelo ApiExceptionHandler. Erros de negócio (4xx) e 503 saem em WARN, só com a
+ * mensagem; stack trace apenas para 5xx inesperados. Os campos (exception, status, method, path) vão como
+ * chave-valor, que o encoder estruturado do logback-spring.xml escreve como JSON.
+ * Cada tipo de exceção tem no máximo park.logging.api-errors.max-per-second linhas por segundo; o excedente
+ * é descartado e contado no campo 'suppressed' da próxima linha do mesmo tipo. O contador park.api.errors
+ * (tags exception e status) registra todas as ocorrências, inclusive as descartadas.
+ * */
+@Slf4j
+@Component
+public class ApiErrorLogger {
+
+    private final MeterRegistry meterRegistry;
+    private final int maxPerSecond;
+    private final Map<Class<?>, RateWindow> windows = new ConcurrentHashMap<>();
+
+    public ApiErrorLogger(MeterRegistry meterRegistry,
+                          @Value("${park.logging.api-errors.max-per-second:10}") int maxPerSecond) {
+        this.meterRegistry = meterRegistry;
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    public void log(Exception ex, HttpServletRequest request, HttpStatus status) {
+        String exception = ex.getClass().getSimpleName();
+        Counter.builder("park.api.errors")
+                .description("Erros devolvidos pelo ApiExceptionHandler")
+                .tag("exception", exception)
+                .tag("status", String.valueOf(status.value()))
+                .register(meterRegistry)
+                .increment();
+
+        long suppressed = windows.computeIfAbsent(ex.getClass(), type -> new RateWindow()).tryAcquire(maxPerSecond);
+        if (suppressed < 0) {
+            return;
+        }
+        boolean unexpected = status.is5xxServerError() && status != HttpStatus.SERVICE_UNAVAILABLE;
+        LoggingEventBuilder event = log.atLevel(unexpected ? Level.ERROR : Level.WARN)
+                .addKeyValue("exception", exception)
+                .addKeyValue("status", status.value())
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("path", request.getRequestURI());
+        if (suppressed > 0) {
+            event = event.addKeyValue("suppressed", suppressed);
+        }
+        if (unexpected) {
+            event = event.setCause(ex);
+        }
+        event.log("Api Error : {}", ex.getMessage());
+    }
+
+    /*
+     * Janela de um segundo por tipo de exceção. tryAcquire devolve -1 se a linha deve ser descartada ou,
+     * se pode ser escrita, quantas foram descartadas desde a última escrita. Sem I/O dentro do synchronized.
+     * */
+    private static class RateWindow {
+        private long second;
+        private int count;
+        private long suppressed;
+
+        synchronized long tryAcquire(int maxPerSecond) {
+            long now = System.currentTimeMillis() / 1000;
+            if (now != second) {
+                second = now;
+                count = 0;
+            }
+            if (count >= maxPerSecond) {
+                suppressed++;
+                return -1;
+            }
+            count++;
+            long dropped = suppressed;
+            suppressed = 0;
+            return dropped;
+        }
+    }
+}
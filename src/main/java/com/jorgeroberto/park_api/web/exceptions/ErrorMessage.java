@@ -1,12 +1,16 @@
 package com.jorgeroberto.park_api.web.exceptions;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.jorgeroberto.park_api.exceptions.BusinessException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.Getter;
 import lombok.ToString;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
+import org.springframework.validation.method.MethodValidationResult;
+import org.springframework.validation.method.ParameterErrors;
+import org.springframework.validation.method.ParameterValidationResult;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -25,6 +29,9 @@ public class ErrorMessage {
 
     private String message;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String code;
+
     @JsonInclude(JsonInclude.Include.NON_NULL)
     private Map<String, String> errors;
 
@@ -38,15 +45,43 @@ public class ErrorMessage {
         this.message = message;
     }
 
+    public ErrorMessage(HttpServletRequest request, BusinessException ex) {
+        this(request, ex.getErrorCode().getStatus(), ex.getMessage());
+        this.code = ex.getErrorCode().name();
+    }
+
     public ErrorMessage(HttpServletRequest request, HttpStatus status, String message, BindingResult result) {
         this(request, status, message);
         addErrors(result);
     }
 
+    public ErrorMessage(HttpServletRequest request, HttpStatus status, String message, MethodValidationResult result) {
+        this(request, status, message);
+        addErrors(result);
+    }
+
     public void addErrors(BindingResult result) {
         this.errors = new HashMap<>();
         for (FieldError fieldError : result.getFieldErrors()) {
             this.errors.put(fieldError.getField(), fieldError.getDefaultMessage());
         }
     }
+
+    //Erros da validação de parâmetros (ex.: lista no corpo); campos de itens da lista ficam como "[i].campo"
+    public void addErrors(MethodValidationResult result) {
+        this.errors = new HashMap<>();
+        for (ParameterValidationResult parameterResult : result.getParameterValidationResults()) {
+            if (parameterResult instanceof ParameterErrors parameterErrors) {
+                String prefix = parameterErrors.getContainerIndex() != null
+                        ? "[" + parameterErrors.getContainerIndex() + "]."
+                        : "";
+                for (FieldError fieldError : parameterErrors.getFieldErrors()) {
+                    this.errors.put(prefix + fieldError.getField(), fieldError.getDefaultMessage());
+                }
+            } else {
+                parameterResult.getResolvableErrors().forEach(error ->
+                        this.errors.put(parameterResult.getMethodParameter().getParameterName(), error.getDefaultMessage()));
+            }
+        }
+    }
 }
@@ -0,0 +1,165 @@
+-- Esquema MySQL do perfil prod, versionado junto com as entidades (ddl-auto=validate confere as tabelas na subida).
+-- Executado pelo spring.sql.init antes do Hibernate; todos os comandos são idempotentes, então o script roda a cada
+-- subida e só cria o que falta. Os create table valem para bases novas; colunas e índices acrescentados depois ficam
+-- no fim do arquivo como comandos condicionais, que também alcançam bases já existentes. Mudou uma entidade, muda
+-- aqui também: coluna nova entra no create table e em um alter condicional.
+
+create table if not exists users (
+    id bigint not null auto_increment,
+    username varchar(100) not null,
+    password varchar(200) not null,
+    role enum ('ROLE_ADMIN','ROLE_CUSTOMER') not null,
+    created_at datetime(6),
+    updated_at datetime(6),
+    created_by varchar(255),
+    updated_by varchar(255),
+    primary key (id),
+    constraint uk_users_username unique (username)
+) engine=InnoDB;
+
+create table if not exists customers (
+    id bigint not null auto_increment,
+    name varchar(100) not null,
+    cpf varchar(11) not null,
+    id_user bigint not null,
+    created_at datetime(6),
+    updated_at datetime(6),
+    created_by varchar(255),
+    updated_by varchar(255),
+    primary key (id),
+    constraint uk_customers_cpf unique (cpf),
+    constraint uk_customers_id_user unique (id_user),
+    constraint fk_customers_users foreign key (id_user) references users (id)
+) engine=InnoDB;
+
+-- ids pooled (ParkingSpace.ID_ALLOCATION_SIZE = 50); ParkingSpaceSequenceAligner avança next_val além do maior id
+create table if not exists parking_space (
+    id bigint not null,
+    code varchar(4) not null,
+    status enum ('BUSY','FREE') not null,
+    created_at datetime(6),
+    updated_at datetime(6),
+    created_by varchar(255),
+    updated_by varchar(255),
+    primary key (id),
+    constraint uk_parking_space_code unique (code)
+) engine=InnoDB;
+
+create table if not exists parking_space_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into parking_space_seq (next_val)
+select 1 from dual where not exists (select 1 from parking_space_seq);
+
+create table if not exists customer_parking_space (
+    id bigint not null auto_increment,
+    receipt varchar(20) not null,
+    plate varchar(8) not null,
+    brand varchar(45) not null,
+    model varchar(45) not null,
+    color varchar(45) not null,
+    entry_date datetime(6) not null,
+    exit_date datetime(6),
+    fee decimal(9,2),
+    discount decimal(9,2),
+    id_customer bigint not null,
+    id_parking_space bigint not null,
+    created_at datetime(6),
+    updated_at datetime(6),
+    created_by varchar(255),
+    updated_by varchar(255),
+    primary key (id),
+    constraint uk_customer_parking_space_receipt unique (receipt),
+    constraint fk_customer_parking_space_customers foreign key (id_customer) references customers (id),
+    constraint fk_customer_parking_space_parking_space foreign key (id_parking_space) references parking_space (id)
+) engine=InnoDB;
+
+-- blocos de números de recibo (ReceiptNumberAllocator); a linha 'receipt' é criada no primeiro uso
+create table if not exists receipt_counter (
+    name varchar(30) not null,
+    next_value bigint not null,
+    primary key (name)
+) engine=InnoDB;
+
+-- particionada por mês em entry_date pelo CustomerVisitPartitionManager na primeira subida
+create table if not exists customer_visit_history (
+    receipt varchar(20) not null,
+    entry_date datetime(6) not null,
+    exit_date datetime(6) not null,
+    customer_id bigint not null,
+    parking_space_code varchar(4) not null,
+    plate varchar(8) not null,
+    fee decimal(9,2),
+    discount decimal(9,2),
+    primary key (entry_date, receipt)
+) engine=InnoDB;
+
+create table if not exists customer_visit_stats (
+    customer_id bigint not null,
+    visit_count bigint not null,
+    total_spent decimal(12,2) not null,
+    last_visit datetime(6),
+    primary key (customer_id)
+) engine=InnoDB;
+
+create table if not exists occupancy_rollup (
+    granularity enum ('DAY','HOUR') not null,
+    bucket_start datetime(6) not null,
+    level varchar(4) not null,
+    occupied_seconds bigint not null,
+    check_outs bigint not null,
+    revenue decimal(12,2) not null,
+    primary key (level, bucket_start, granularity)
+) engine=InnoDB;
+
+create table if not exists occupancy_rollup_pending (
+    id bigint not null auto_increment,
+    level varchar(4) not null,
+    entry_date datetime(6) not null,
+    exit_date datetime(6) not null,
+    spent decimal(9,2) not null,
+    primary key (id)
+) engine=InnoDB;
+
+-- Alterações condicionais (MySQL não tem "create index if not exists"): cada bloco consulta o information_schema e só
+-- executa o DDL se a coluna ou o índice ainda não existir.
+
+-- tarifa e desconto do check-out (TariffEngine)
+set @ddl = if((select count(*) from information_schema.columns where table_schema = database()
+        and table_name = 'customer_parking_space' and column_name = 'fee') = 0,
+    'alter table customer_parking_space add column fee decimal(9,2)', 'select 1');
+prepare ddl from @ddl;
+execute ddl;
+deallocate prepare ddl;
+
+set @ddl = if((select count(*) from information_schema.columns where table_schema = database()
+        and table_name = 'customer_parking_space' and column_name = 'discount') = 0,
+    'alter table customer_parking_space add column discount decimal(9,2)', 'select 1');
+prepare ddl from @ddl;
+execute ddl;
+deallocate prepare ddl;
+
+-- listagem de clientes por nome com paginação por keyset
+set @ddl = if((select count(*) from information_schema.statistics where table_schema = database()
+        and table_name = 'customers' and index_name = 'idx_customers_name_id') = 0,
+    'create index idx_customers_name_id on customers (name, id)', 'select 1');
+prepare ddl from @ddl;
+execute ddl;
+deallocate prepare ddl;
+
+-- histórico de um cliente por período
+set @ddl = if((select count(*) from information_schema.statistics where table_schema = database()
+        and table_name = 'customer_visit_history' and index_name = 'idx_customer_visit_history_customer_entry') = 0,
+    'create index idx_customer_visit_history_customer_entry on customer_visit_history (customer_id, entry_date)', 'select 1');
+prepare ddl from @ddl;
+execute ddl;
+deallocate prepare ddl;
+
+-- leituras por período do relatório e da drenagem (a chave primária começa por level)
+set @ddl = if((select count(*) from information_schema.statistics where table_schema = database()
+        and table_name = 'occupancy_rollup' and index_name = 'idx_occupancy_rollup_granularity_bucket') = 0,
+    'create index idx_occupancy_rollup_granularity_bucket on occupancy_rollup (granularity, bucket_start, level)', 'select 1');
+prepare ddl from @ddl;
+execute ddl;
+deallocate prepare ddl;
@@ -1,16 +1,28 @@
 package com.jorgeroberto.park_api;
 
 import com.jorgeroberto.park_api.jwt.JwtToken;
+import com.jorgeroberto.park_api.jwt.JwtUtils;
 import com.jorgeroberto.park_api.web.dto.UserLoginDto;
 import com.jorgeroberto.park_api.web.exceptions.ErrorMessage;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlMergeMode;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.assertj.core.api.Assertions;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import java.nio.charset.StandardCharsets;
+
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Sql(scripts = "/sql/users/users-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
 @Sql(scripts = "/sql/users/users-delete.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
@@ -18,6 +30,12 @@ public class AuthenticationIT {
 
     @Autowired
     WebTestClient testClient;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
     //Correto
     @Test
     public void authenticate_WithValidCredentials_ReturnTokenWithStatus200() {
@@ -33,6 +51,29 @@ public class AuthenticationIT {
 
         Assertions.assertThat(responseBody).isNotNull();
     }
+
+    @Test
+    public void authenticate_WithValidCredentials_ReturnTokenWithPrincipalClaims() {
+        JwtToken responseBody = testClient
+                .post()
+                .uri("/api/v1/auth")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserLoginDto("ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JwtToken.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(JwtUtils.SECRET_KEY.getBytes(StandardCharsets.UTF_8))).build()
+                .parseClaimsJws(responseBody.getToken()).getBody();
+
+        Assertions.assertThat(claims.getSubject()).isEqualTo("ana@email.com");
+        Assertions.assertThat(claims.get(JwtUtils.JWT_CLAIM_ID, Long.class)).isEqualTo(100);
+        Assertions.assertThat(claims.get(JwtUtils.JWT_CLAIM_ROLE, String.class)).isEqualTo("ADMIN");
+    }
     //Correto
     @Test
     public void authenticate_WithInvalidCredentials_ReturnErrorMessageWithStatus400() {
@@ -133,4 +174,37 @@ public class AuthenticationIT {
         Assertions.assertThat(responseBody).isNotNull();
         Assertions.assertThat(responseBody.getStatus()).isEqualTo(422);
     }
+
+    @Test
+    @SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+    @Sql(statements = "insert into users (id, username, password, role) " +
+            "values (110, 'legacy@email.com', '$2a$04$FHhY16vfep9lCMchoGs0J.efXsdrBVbNT0vLYcrbPRE8dMI1E7BfW', 'ROLE_CUSTOMER')")
+    public void authenticate_WithLowCostHash_RehashesPasswordWithConfiguredCost() {
+        JwtAuthentication.getHeaderAuthorization(testClient, "legacy@email.com", "123456");
+
+        String password = jdbcTemplate.queryForObject("select password from users where id = 110", String.class);
+        Assertions.assertThat(password).startsWith("{bcrypt}$2a$10$");
+
+        JwtAuthentication.getHeaderAuthorization(testClient, "legacy@email.com", "123456");
+    }
+
+    @Test
+    public void authenticate_WithHashAtOrAboveConfiguredCost_KeepsStoredPassword() {
+        String before = jdbcTemplate.queryForObject("select password from users where id = 100", String.class);
+
+        JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456");
+
+        String after = jdbcTemplate.queryForObject("select password from users where id = 100", String.class);
+        Assertions.assertThat(after).isEqualTo(before);
+    }
+
+    @Test
+    public void authenticate_WithValidCredentials_IssuesSingleQuery() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456");
+
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
 }
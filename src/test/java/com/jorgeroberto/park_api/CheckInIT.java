@@ -0,0 +1,190 @@
+package com.jorgeroberto.park_api;
+
+import com.jorgeroberto.park_api.web.dto.ParkingCreateDto;
+import com.jorgeroberto.park_api.web.dto.ParkingResponseDto;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = "/sql/check-in/check-in-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/sql/check-in/check-in-delete.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class CheckInIT {
+
+    @Autowired
+    WebTestClient testClient;
+
+    @Test
+    @QueryBudget(max = 7)
+    public void checkIn_WithValidData_ReturnsCreatedAndLocation() {
+        ParkingCreateDto createDto = new ParkingCreateDto("WER-1111", "FIAT", "PALIO 1.0", "AZUL", "68788268020");
+
+        ParkingResponseDto responseBody = testClient
+                .post()
+                .uri("/api/v1/parking/check-in")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .bodyValue(createDto)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().exists(HttpHeaders.LOCATION)
+                .expectBody(ParkingResponseDto.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getPlate()).isEqualTo("WER-1111");
+        Assertions.assertThat(responseBody.getCustomerCpf()).isEqualTo("68788268020");
+        Assertions.assertThat(responseBody.getReceipt()).matches("\\d{8}-\\d{6,}");
+        Assertions.assertThat(responseBody.getEntryDate()).isNotNull();
+        Assertions.assertThat(responseBody.getParkingSpaceCode()).isIn("A-02", "A-03");
+    }
+
+    @Test
+    public void checkIn_WithNonExistentCpf_ReturnsErrorMessageWithStatus404() {
+        testClient
+                .post()
+                .uri("/api/v1/parking/check-in")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .bodyValue(new ParkingCreateDto("WER-1111", "FIAT", "PALIO 1.0", "AZUL", "91504930002"))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("status").isEqualTo(404)
+                .jsonPath("path").isEqualTo("/api/v1/parking/check-in")
+                .jsonPath("method").isEqualTo("POST");
+    }
+
+    @Test
+    public void checkIn_WithInvalidData_ReturnsErrorMessageWithStatus422() {
+        testClient
+                .post()
+                .uri("/api/v1/parking/check-in")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .bodyValue(new ParkingCreateDto("", "", "", "", ""))
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("status").isEqualTo(422);
+    }
+
+    @Test
+    public void checkIn_WithConcurrentRequests_NeverAssignsTheSameParkingSpaceTwice() {
+        Consumer<HttpHeaders> authorization = JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456");
+
+        List<EntityExchangeResult<ParkingResponseDto>> results = IntStream.range(0, 3).parallel()
+                .mapToObj(i -> testClient
+                        .post()
+                        .uri("/api/v1/parking/check-in")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .headers(authorization)
+                        .bodyValue(new ParkingCreateDto("WER-111" + i, "FIAT", "PALIO 1.0", "AZUL", "68788268020"))
+                        .exchange()
+                        .expectBody(ParkingResponseDto.class)
+                        .returnResult())
+                .toList();
+
+        List<String> codes = results.stream()
+                .filter(result -> result.getStatus().equals(HttpStatusCode.valueOf(201)))
+                .map(result -> result.getResponseBody().getParkingSpaceCode())
+                .toList();
+
+        Assertions.assertThat(codes).containsExactlyInAnyOrder("A-02", "A-03");
+        Assertions.assertThat(results).filteredOn(result -> result.getStatus().value() == 404).hasSize(1);
+    }
+
+    @Test
+    @QueryBudget(max = 4)
+    public void findCheckIn_WithExistingReceipt_ReturnsParkingWithStatus200() {
+        testClient
+                .get()
+                .uri("/api/v1/parking/check-in/{receipt}", "20250301-101300")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("plate").isEqualTo("FIT-1020")
+                .jsonPath("customerCpf").isEqualTo("68788268020")
+                .jsonPath("parkingSpaceCode").isEqualTo("A-01")
+                .jsonPath("receipt").isEqualTo("20250301-101300");
+    }
+
+    @Test
+    @QueryBudget(max = 12) // inclui os totais do cliente, a gravação no histórico e a fila do relatório de ocupação
+    public void checkOut_WithExistingReceipt_ReturnsParkingWithStatus200AndFreesTheSpace() {
+        Consumer<HttpHeaders> authorization = JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456");
+
+        testClient
+                .put()
+                .uri("/api/v1/parking/check-out/{receipt}", "20250301-101300")
+                .headers(authorization)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("receipt").isEqualTo("20250301-101300")
+                .jsonPath("parkingSpaceCode").isEqualTo("A-01")
+                .jsonPath("exitDate").exists()
+                .jsonPath("fee").isNumber()
+                .jsonPath("discount").isEqualTo(0.0);
+
+        testClient
+                .get()
+                .uri("/api/v1/parking/{code}", "A-01")
+                .headers(authorization)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("status").isEqualTo("FREE");
+    }
+
+    @Test
+    public void checkOut_RightAfterCheckIn_ChargesFirstPeriodWithoutLoyaltyDiscount() {
+        Consumer<HttpHeaders> authorization = JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456");
+        ParkingResponseDto checkIn = testClient
+                .post()
+                .uri("/api/v1/parking/check-in")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(authorization)
+                .bodyValue(new ParkingCreateDto("WER-2222", "FIAT", "UNO", "PRATA", "63332538047"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(ParkingResponseDto.class)
+                .returnResult().getResponseBody();
+
+        // uma estadia encerrada no histórico, abaixo das 10 do desconto de fidelidade
+        testClient
+                .put()
+                .uri("/api/v1/parking/check-out/{receipt}", checkIn.getReceipt())
+                .headers(authorization)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("fee").isEqualTo(5.0)
+                .jsonPath("discount").isEqualTo(0.0);
+    }
+
+    @Test
+    public void checkOut_WithClosedReceipt_ReturnsErrorMessageWithStatus404() {
+        testClient
+                .put()
+                .uri("/api/v1/parking/check-out/{receipt}", "20250301-101400")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("status").isEqualTo(404)
+                .jsonPath("method").isEqualTo("PUT");
+    }
+}
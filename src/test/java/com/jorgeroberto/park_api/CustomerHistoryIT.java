@@ -0,0 +1,131 @@
+package com.jorgeroberto.park_api;
+
+import com.jorgeroberto.park_api.services.FreeParkingSpaceIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.function.Consumer;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = "/sql/check-in/check-in-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/sql/check-in/check-in-delete.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class CustomerHistoryIT {
+
+    @Autowired
+    WebTestClient testClient;
+
+    @Autowired
+    FreeParkingSpaceIndex freeParkingSpaceIndex;
+
+    // o check-out devolve a vaga ao índice em memória; sem isso o próximo check-in de outra classe
+    // tentaria primeiro uma vaga que o script de limpeza já apagou
+    @AfterEach
+    public void forgetReleasedParkingSpace() {
+        freeParkingSpaceIndex.remove("A-01");
+    }
+
+    @Test
+    public void getHistory_AfterCheckOut_ReturnsTheStayWithStatus200() {
+        testClient
+                .put()
+                .uri("/api/v1/parking/check-out/{receipt}", "20250301-101300")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk();
+
+        testClient
+                .get()
+                .uri("/api/v1/customers/details/history")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "jorge@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("totalElements").isEqualTo(1)
+                .jsonPath("content[0].receipt").isEqualTo("20250301-101300")
+                .jsonPath("content[0].parkingSpaceCode").isEqualTo("A-01")
+                .jsonPath("content[0].exitDate").exists()
+                .jsonPath("content[0].fee").isNumber();
+    }
+
+    @Test
+    @QueryBudget(max = 4) // login, cliente, página do histórico e total de estadias
+    public void getHistory_WithPagination_ReturnsPageWithStatus200() {
+        testClient
+                .get()
+                .uri("/api/v1/customers/details/history?page=0&size=1")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "test@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("page").isEqualTo(0)
+                .jsonPath("size").isEqualTo(1)
+                .jsonPath("totalElements").isEqualTo(1)
+                .jsonPath("content[0].receipt").isEqualTo("20250301-101400")
+                .jsonPath("content[0].parkingSpaceCode").isEqualTo("A-04");
+    }
+
+    @Test
+    public void getSummary_AfterCheckOut_ReturnsUpdatedTotalsWithStatus200() {
+        Consumer<HttpHeaders> authorization = JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456");
+
+        testClient
+                .get()
+                .uri("/api/v1/customers/{id}/summary", 20)
+                .headers(authorization)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("visits").isEqualTo(0)
+                .jsonPath("totalSpent").isEqualTo(0.0);
+
+        testClient
+                .put()
+                .uri("/api/v1/parking/check-out/{receipt}", "20250301-101300")
+                .headers(authorization)
+                .exchange()
+                .expectStatus().isOk();
+
+        testClient
+                .get()
+                .uri("/api/v1/customers/{id}/summary", 20)
+                .headers(authorization)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("customerId").isEqualTo(20)
+                .jsonPath("visits").isEqualTo(1)
+                .jsonPath("totalSpent").isNumber()
+                .jsonPath("lastVisit").exists();
+    }
+
+    @Test
+    @QueryBudget(max = 2) // login e a linha de totais do cliente
+    public void getSummary_WithExistingStats_ReturnsTotalsWithStatus200() {
+        testClient
+                .get()
+                .uri("/api/v1/customers/{id}/summary", 21)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("visits").isEqualTo(1)
+                .jsonPath("totalSpent").isEqualTo(14.25);
+    }
+
+    @Test
+    public void getSummary_WithNonExistentCustomer_ReturnsErrorMessageWithStatus404() {
+        testClient
+                .get()
+                .uri("/api/v1/customers/{id}/summary", 0)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("status").isEqualTo(404);
+    }
+}
@@ -1,17 +1,28 @@
 package com.jorgeroberto.park_api;
 
+import com.jorgeroberto.park_api.entities.User;
+import com.jorgeroberto.park_api.web.dto.CursorPageDto;
 import com.jorgeroberto.park_api.web.dto.CustomerCreateDto;
 import com.jorgeroberto.park_api.web.dto.CustomerResponseDto;
 import com.jorgeroberto.park_api.web.dto.PageableDto;
+import com.jorgeroberto.park_api.web.dto.UserLoginDto;
 import com.jorgeroberto.park_api.web.exceptions.ErrorMessage;
+import jakarta.persistence.EntityManagerFactory;
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Sql(scripts = "/sql/customers/customers-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
 @Sql(scripts = "/sql/customers/customers-delete.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
@@ -20,6 +31,9 @@ public class CustomerIT {
     @Autowired
     WebTestClient testClient;
 
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
     @Test
     public void createCustomer_WithValidData_ReturnsCustomerWithStatus201() {
         CustomerResponseDto responseBody = testClient
@@ -122,6 +136,7 @@ public class CustomerIT {
     }
 
     @Test
+    @QueryBudget(max = 2)
     public void findCustomerById_WithExistingIdByAdmin_ReturnsCustomerWithStatus200() {
         CustomerResponseDto responseBody = testClient
                 .get()
@@ -136,6 +151,53 @@ public class CustomerIT {
         Assertions.assertThat(responseBody.getId()).isEqualTo(20);
     }
 
+    // token obtido antes da medição: conta só a requisição, que deve ser um único SELECT em customers
+    @Test
+    public void findCustomerById_WithExistingIdByAdmin_ExecutesOneQueryWithoutLoadingUser() {
+        Consumer<HttpHeaders> authorization = JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456");
+        long statements = statistics().getPrepareStatementCount();
+        long userLoads = userLoads();
+
+        testClient
+                .get()
+                .uri("api/v1/customers/20")
+                .headers(authorization)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("cpf").isEqualTo("68788268020");
+
+        Assertions.assertThat(statistics().getPrepareStatementCount() - statements).isEqualTo(1);
+        Assertions.assertThat(userLoads()).isEqualTo(userLoads);
+    }
+
+    @Test
+    public void findCustomer_WithCustomerTokenData_ExecutesOneQueryWithoutLoadingUser() {
+        Consumer<HttpHeaders> authorization = JwtAuthentication.getHeaderAuthorization(testClient, "toby@email.com", "123456");
+        long statements = statistics().getPrepareStatementCount();
+        long userLoads = userLoads();
+
+        testClient
+                .get()
+                .uri("api/v1/customers/details")
+                .headers(authorization)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("cpf").isEqualTo("63332538047");
+
+        Assertions.assertThat(statistics().getPrepareStatementCount() - statements).isEqualTo(1);
+        Assertions.assertThat(userLoads()).isEqualTo(userLoads);
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private long userLoads() {
+        return statistics().getEntityStatistics(User.class.getName()).getLoadCount();
+    }
+
     //Está retornando 401 no lugar de 404
     @Test
     public void findCustomerById_WithNoExistentIdByAdmin_ReturnsErrorMessageWithStatus404() {
@@ -169,6 +231,7 @@ public class CustomerIT {
     }
 
     @Test
+    @QueryBudget(max = 5) // 2 logins + 2 páginas + 1 count
     public void findCustomerById_WithPaginationByAdmin_ReturnCustomersWithStatus200() {
         PageableDto responseBody = testClient
                 .get()
@@ -200,6 +263,55 @@ public class CustomerIT {
     }
 
     /*Retornou 401*/
+    @Test
+    @QueryBudget(max = 4)
+    public void findCustomers_WithCursorByAdmin_ReturnCustomersWithStatus200() {
+        CursorPageDto responseBody = testClient
+                .get()
+                .uri("api/v1/customers?after=&size=1")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "argolo@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CursorPageDto.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getContent().size()).isEqualTo(1);
+        Assertions.assertThat(((Map<String, Object>) responseBody.getContent().get(0)).get("name")).isEqualTo("Jorge Roberto Argolo");
+        Assertions.assertThat(responseBody.isLast()).isFalse();
+        Assertions.assertThat(responseBody.getNext()).isNotBlank();
+
+        responseBody = testClient
+                .get()
+                .uri("api/v1/customers?after={after}&size=1", responseBody.getNext())
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "argolo@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CursorPageDto.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getContent().size()).isEqualTo(1);
+        Assertions.assertThat(((Map<String, Object>) responseBody.getContent().get(0)).get("name")).isEqualTo("Roberto Argolo");
+        Assertions.assertThat(responseBody.isLast()).isTrue();
+        Assertions.assertThat(responseBody.getNext()).isNull();
+    }
+
+    @Test
+    public void findCustomers_WithInvalidCursorByAdmin_ReturnErrorMessageWithStatus400() {
+        ErrorMessage responseBody = testClient
+                .get()
+                .uri("api/v1/customers?after=invalid")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "argolo@email.com", "123456"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getStatus()).isEqualTo(400);
+    }
+
     @Test
     public void findCustomerById_WithPaginationByCustomer_ReturnErrorMessageWithStatus403() {
         ErrorMessage responseBody = testClient
@@ -216,6 +328,7 @@ public class CustomerIT {
     }
 
     @Test
+    @QueryBudget(max = 2)
     public void findCustomer_WithCustomerTokenData_ReturnCustomerWithStatus200() {
         CustomerResponseDto responseBody = testClient
                 .get()
@@ -247,4 +360,81 @@ public class CustomerIT {
         Assertions.assertThat(responseBody).isNotNull();
         Assertions.assertThat(responseBody.getStatus()).isEqualTo(403);
     }
+
+    // batch-size=2 nos testes: as 6 linhas passam por três blocos; CPF e username do customers-insert.sql
+    // não estão no filtro e só são barrados pela constraint, no regravamento linha a linha
+    @Test
+    public void importCustomers_WithCsv_CreatesValidRowsAndReportsRejectedWithStatus207() {
+        String csv = """
+                name,cpf,username,password
+                Maria Importada,52601815906,maria@email.com,123456
+                Joao Importado,08301661305,joao@email.com,123456
+                Cpf Existente,68788268020,existente@email.com,123456
+                Email Invalido,18609139034,invalido,123456
+                Cpf Repetido,08301661305,repetido@email.com,123456
+                "Silva, Pedro",99603082430,jorge@email.com,123456
+                """;
+
+        testClient
+                .post()
+                .uri("/api/v1/customers/import")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .bodyValue(csv)
+                .exchange()
+                .expectStatus().isEqualTo(207)
+                .expectBody()
+                .jsonPath("total").isEqualTo(6)
+                .jsonPath("created").isEqualTo(2)
+                .jsonPath("rejected.length()").isEqualTo(4)
+                .jsonPath("rejected[0].line").isEqualTo(4)
+                .jsonPath("rejected[0].status").isEqualTo("CONFLICT")
+                .jsonPath("rejected[1].line").isEqualTo(5)
+                .jsonPath("rejected[1].status").isEqualTo("INVALID")
+                .jsonPath("rejected[2].line").isEqualTo(6)
+                .jsonPath("rejected[2].status").isEqualTo("CONFLICT")
+                .jsonPath("rejected[3].line").isEqualTo(7)
+                .jsonPath("rejected[3].username").isEqualTo("jorge@email.com")
+                .jsonPath("rejected[3].status").isEqualTo("CONFLICT");
+
+        testClient
+                .post()
+                .uri("/api/v1/auth")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserLoginDto("maria@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    public void importCustomers_WithNdjson_CreatesAllRowsWithStatus201() {
+        String ndjson = """
+                {"name": "Carla Importada", "cpf": "62819482112", "username": "carla@email.com", "password": "123456"}
+
+                {"name": "Bruno Importado", "cpf": "99351819019", "username": "bruno@email.com", "password": "123456"}
+                """;
+
+        testClient
+                .post()
+                .uri("/api/v1/customers/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .bodyValue(ndjson)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("total").isEqualTo(2)
+                .jsonPath("created").isEqualTo(2)
+                .jsonPath("rejected.length()").isEqualTo(0);
+
+        testClient
+                .get()
+                .uri("/api/v1/customers?size=10")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("content[*].cpf").value(cpfs ->
+                        Assertions.assertThat((List<String>) cpfs).contains("62819482112", "99351819019"));
+    }
 }
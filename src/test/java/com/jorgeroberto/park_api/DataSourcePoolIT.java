@@ -0,0 +1,53 @@
+package com.jorgeroberto.park_api;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "park.datasource.pool.auto-size=true",
+        "park.datasource.pool.db-cores=2",
+        "park.datasource.pool.expected-concurrency=3"
+})
+@Sql(scripts = "/sql/users/users-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/sql/users/users-delete.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class DataSourcePoolIT {
+
+    @Autowired
+    WebTestClient testClient;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Test
+    public void autoSize_WithExpectedConcurrencyBelowCoreFormula_UsesFixedPoolOfExpectedConcurrency() throws SQLException {
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+
+        // 2 núcleos * 2 + 1 = 5, limitado às 3 transações simultâneas esperadas
+        Assertions.assertThat(hikari.getMaximumPoolSize()).isEqualTo(3);
+        Assertions.assertThat(hikari.getMinimumIdle()).isEqualTo(3);
+    }
+
+    @Test
+    public void metricsEndpoint_WithAdminToken_ReturnsPoolMetrics() {
+        for (String metric : new String[]{"hikaricp.connections.active", "hikaricp.connections.idle",
+                "hikaricp.connections.pending", "hikaricp.connections.acquire"}) {
+            testClient
+                    .get()
+                    .uri("/actuator/metrics/" + metric)
+                    .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("name").isEqualTo(metric)
+                    .jsonPath("availableTags[?(@.tag == 'pool')]").exists();
+        }
+    }
+}
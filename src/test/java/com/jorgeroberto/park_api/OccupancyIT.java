@@ -0,0 +1,74 @@
+package com.jorgeroberto.park_api;
+
+import com.jorgeroberto.park_api.services.ParkingOccupancyService;
+import com.jorgeroberto.park_api.web.dto.ParkingSpaceCreateDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.function.Consumer;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = "/sql/parking/parking-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/sql/parking/parking-delete.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class OccupancyIT {
+
+    @Autowired
+    WebTestClient testClient;
+
+    @Autowired
+    ParkingOccupancyService parkingOccupancyService;
+
+    // os scripts @Sql gravam direto no banco, sem eventos; a reconciliação alinha os contadores com eles
+    @BeforeEach
+    public void reconcile() {
+        parkingOccupancyService.reconcile();
+    }
+
+    @Test
+    @QueryBudget(max = 1) // apenas a consulta agregada do @BeforeEach
+    public void findOccupancy_WithoutToken_ReturnsCountersWithStatus200() {
+        testClient
+                .get()
+                .uri("/api/v1/parking/occupancy")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("total").isEqualTo(4)
+                .jsonPath("free").isEqualTo(3)
+                .jsonPath("busy").isEqualTo(1)
+                .jsonPath("levels[0].level").isEqualTo("A-")
+                .jsonPath("levels[0].free").isEqualTo(3);
+    }
+
+    @Test
+    public void findOccupancy_AfterCreatingParkingSpace_ReturnsUpdatedCountersWithStatus200() {
+        Consumer<HttpHeaders> authorization = JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456");
+
+        testClient
+                .post()
+                .uri("/api/v1/parking")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(authorization)
+                .bodyValue(new ParkingSpaceCreateDto("B-01", "BUSY"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        testClient
+                .get()
+                .uri("/api/v1/parking/occupancy")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("total").isEqualTo(5)
+                .jsonPath("free").isEqualTo(3)
+                .jsonPath("busy").isEqualTo(2)
+                .jsonPath("levels[1].level").isEqualTo("B-")
+                .jsonPath("levels[1].busy").isEqualTo(1);
+    }
+}
@@ -0,0 +1,146 @@
+package com.jorgeroberto.park_api;
+
+import com.jorgeroberto.park_api.services.FreeParkingSpaceIndex;
+import com.jorgeroberto.park_api.services.OccupancyRollupService;
+import com.jorgeroberto.park_api.web.dto.ParkingResponseDto;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.Consumer;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = "/sql/check-in/check-in-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/sql/check-in/check-in-delete.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class OccupancyReportIT {
+
+    @Autowired
+    WebTestClient testClient;
+
+    @Autowired
+    OccupancyRollupService occupancyRollupService;
+
+    @Autowired
+    FreeParkingSpaceIndex freeParkingSpaceIndex;
+
+    // o check-out devolve a vaga ao índice em memória; sem isso o próximo check-in de outra classe
+    // tentaria primeiro uma vaga que o script de limpeza já apagou
+    @AfterEach
+    public void forgetReleasedParkingSpace() {
+        freeParkingSpaceIndex.remove("A-01");
+    }
+
+    @Test
+    public void getOccupancy_AfterCheckOut_ReturnsHourlyAndDailyBucketsWithStatus200() {
+        Consumer<HttpHeaders> authorization = JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456");
+        ParkingResponseDto checkOut = checkOut("20250301-101300", authorization);
+
+        Assertions.assertThat(occupancyRollupService.drain()).isEqualTo(1);
+        Assertions.assertThat(occupancyRollupService.drain()).isZero();
+
+        // a primeira hora conta só os minutos depois da entrada; as seguintes, a hora cheia
+        LocalDateTime entry = checkOut.getEntryDate();
+        LocalDateTime firstHour = entry.truncatedTo(ChronoUnit.HOURS);
+        testClient
+                .get()
+                .uri("/api/v1/reports/occupancy?from={from}&to={to}&granularity=HOUR", firstHour, firstHour.plusHours(3))
+                .headers(authorization)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("granularity").isEqualTo("HOUR")
+                .jsonPath("buckets.length()").isEqualTo(3)
+                .jsonPath("buckets[0].start").isEqualTo(List.of(firstHour.getYear(), firstHour.getMonthValue(),
+                        firstHour.getDayOfMonth(), firstHour.getHour(), 0))
+                .jsonPath("buckets[0].occupiedMinutes").isEqualTo(60 - entry.getMinute())
+                .jsonPath("buckets[0].checkOuts").isEqualTo(0)
+                .jsonPath("buckets[0].levels[0].level").isEqualTo("A-")
+                .jsonPath("buckets[1].occupiedMinutes").isEqualTo(60)
+                .jsonPath("buckets[2].occupiedMinutes").isEqualTo(60);
+
+        LocalDateTime firstDay = entry.truncatedTo(ChronoUnit.DAYS);
+        testClient
+                .get()
+                .uri("/api/v1/reports/occupancy?from={from}&to={to}&granularity=DAY", firstDay, firstDay.plusDays(2))
+                .headers(authorization)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("buckets.length()").isEqualTo(2)
+                .jsonPath("buckets[0].occupiedMinutes").isEqualTo(24 * 60 - entry.getHour() * 60 - entry.getMinute())
+                .jsonPath("buckets[1].occupiedMinutes").isEqualTo(24 * 60);
+
+        // check-out e receita contam no dia da saída
+        LocalDate exitDay = checkOut.getExitDate().toLocalDate();
+        testClient
+                .get()
+                .uri("/api/v1/reports/occupancy?from={from}&to={to}&granularity=DAY",
+                        exitDay.atStartOfDay(), exitDay.plusDays(1).atStartOfDay())
+                .headers(authorization)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("buckets[0].checkOuts").isEqualTo(1)
+                .jsonPath("buckets[0].revenue").isEqualTo(checkOut.getFee().subtract(checkOut.getDiscount()).doubleValue());
+    }
+
+    @Test
+    public void getOccupancy_WithoutCheckOuts_ReturnsEmptyBucketsWithStatus200() {
+        testClient
+                .get()
+                .uri("/api/v1/reports/occupancy?from=2025-03-01T10:30&to=2025-03-01T12:00")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("granularity").isEqualTo("HOUR")
+                .jsonPath("buckets.length()").isEqualTo(2)
+                .jsonPath("buckets[0].start[3]").isEqualTo(10)
+                .jsonPath("buckets[0].occupiedMinutes").isEqualTo(0)
+                .jsonPath("buckets[0].levels").isEmpty();
+    }
+
+    @Test
+    public void getOccupancy_WithInvalidPeriod_ReturnsErrorMessageWithStatus400() {
+        Consumer<HttpHeaders> authorization = JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456");
+
+        testClient
+                .get()
+                .uri("/api/v1/reports/occupancy?from=2025-03-02T00:00&to=2025-03-01T00:00")
+                .headers(authorization)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("status").isEqualTo(400);
+
+        // 744 intervalos no máximo: um ano por hora passa do limite
+        testClient
+                .get()
+                .uri("/api/v1/reports/occupancy?from=2025-01-01T00:00&to=2026-01-01T00:00&granularity=HOUR")
+                .headers(authorization)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("status").isEqualTo(400);
+    }
+
+    private ParkingResponseDto checkOut(String receipt, Consumer<HttpHeaders> authorization) {
+        return testClient
+                .put()
+                .uri("/api/v1/parking/check-out/{receipt}", receipt)
+                .headers(authorization)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ParkingResponseDto.class)
+                .returnResult().getResponseBody();
+    }
+}
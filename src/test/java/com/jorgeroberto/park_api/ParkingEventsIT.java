@@ -0,0 +1,127 @@
+package com.jorgeroberto.park_api;
+
+import com.jorgeroberto.park_api.entities.ParkingSpace;
+import com.jorgeroberto.park_api.events.ParkingSpaceStatusChangedEvent;
+import com.jorgeroberto.park_api.services.ParkingSpaceEventBroadcaster;
+import com.jorgeroberto.park_api.web.dto.ParkingSpaceCreateDto;
+import com.jorgeroberto.park_api.web.dto.ParkingSpaceEventDto;
+import org.assertj.core.api.Assertions;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.FluxExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static com.jorgeroberto.park_api.entities.ParkingSpace.ParkingStatus.BUSY;
+import static com.jorgeroberto.park_api.entities.ParkingSpace.ParkingStatus.FREE;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = "/sql/parking/parking-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/sql/parking/parking-delete.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class ParkingEventsIT {
+
+    @Autowired
+    WebTestClient testClient;
+
+    @Test
+    public void streamEvents_WhenParkingSpaceIsCreated_PushesStatusEvent() {
+        Consumer<HttpHeaders> authorization = JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456");
+
+        FluxExchangeResult<ServerSentEvent<ParkingSpaceEventDto>> stream = testClient
+                .get()
+                .uri("/api/v1/parking/events")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .headers(authorization)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<>() {});
+
+        testClient
+                .post()
+                .uri("/api/v1/parking")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(authorization)
+                .bodyValue(new ParkingSpaceCreateDto("E-01", "BUSY"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        ServerSentEvent<ParkingSpaceEventDto> event = stream.getResponseBody()
+                .filter(sse -> sse.data() != null)
+                .blockFirst(Duration.ofSeconds(10));
+
+        Assertions.assertThat(event).isNotNull();
+        Assertions.assertThat(event.event()).isEqualTo("status");
+        Assertions.assertThat(event.data().getCode()).isEqualTo("E-01");
+        Assertions.assertThat(event.data().getPrevious()).isNull();
+        Assertions.assertThat(event.data().getCurrent()).isEqualTo("BUSY");
+    }
+
+    @Test
+    public void broadcaster_WithPendingFlipsOfSameCode_CoalescesThemIntoOneEvent() {
+        ParkingSpaceEventBroadcaster broadcaster = new ParkingSpaceEventBroadcaster(10);
+        PausedSubscriber subscriber = new PausedSubscriber();
+        broadcaster.subscribe().subscribe(subscriber);
+
+        // o primeiro evento já segue para o publishOn (prefetch 1); os demais ficam no buffer do assinante
+        broadcaster.onStatusCommitted(new ParkingSpaceStatusChangedEvent("X-01", null, BUSY));
+        broadcaster.onStatusCommitted(new ParkingSpaceStatusChangedEvent("A-01", FREE, BUSY));
+        broadcaster.onStatusCommitted(new ParkingSpaceStatusChangedEvent("A-01", BUSY, FREE));
+        broadcaster.onStatusCommitted(new ParkingSpaceStatusChangedEvent("B-01", null, BUSY));
+        broadcaster.onStatusCommitted(new ParkingSpaceStatusChangedEvent("B-01", BUSY, FREE));
+
+        subscriber.request(10);
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> subscriber.received.size() == 2);
+        Assertions.assertThat(subscriber.received).extracting(ParkingSpaceStatusChangedEvent::getCode)
+                .containsExactly("X-01", "B-01");
+        Assertions.assertThat(subscriber.received.get(1).getPrevious()).isNull();
+        Assertions.assertThat(subscriber.received.get(1).getCurrent()).isEqualTo(FREE);
+    }
+
+    @Test
+    public void broadcaster_WithSubscriberNotReading_EvictsItWhenBufferIsFull() {
+        ParkingSpaceEventBroadcaster broadcaster = new ParkingSpaceEventBroadcaster(2);
+        PausedSubscriber subscriber = new PausedSubscriber();
+        broadcaster.subscribe().subscribe(subscriber);
+
+        for (String code : List.of("A-01", "A-02", "A-03", "A-04")) {
+            broadcaster.onStatusCommitted(new ParkingSpaceStatusChangedEvent(code, FREE, BUSY));
+        }
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> subscriber.evicted);
+        Assertions.assertThat(broadcaster.getSubscriberCount()).isZero();
+    }
+
+    //Assinante que não pede eventos até request() ser chamado explicitamente
+    private static class PausedSubscriber extends BaseSubscriber<ParkingSpaceStatusChangedEvent> {
+        private final List<ParkingSpaceStatusChangedEvent> received = new CopyOnWriteArrayList<>();
+        private volatile boolean evicted;
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+        }
+
+        @Override
+        protected void hookOnNext(ParkingSpaceStatusChangedEvent value) {
+            received.add(value);
+        }
+
+        @Override
+        protected void hookOnError(Throwable throwable) {
+            evicted = true;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.jorgeroberto.park_api;
 
 import com.jorgeroberto.park_api.web.dto.ParkingSpaceCreateDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -9,6 +12,9 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Sql(scripts = "/sql/parking/parking-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
 @Sql(scripts = "/sql/parking/parking-delete.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
@@ -17,6 +23,9 @@ public class ParkingIT {
     @Autowired
     WebTestClient testClient;
 
+    @Autowired
+    MeterRegistry meterRegistry;
+
     @Test
     public void createParking_WithValidData_ReturnsLocationWithStatus201() {
         testClient
@@ -45,7 +54,8 @@ public class ParkingIT {
                 .expectBody()
                 .jsonPath("status").isEqualTo(409)
                 .jsonPath("method").isEqualTo("POST")
-                .jsonPath("path").isEqualTo("/api/v1/parking");
+                .jsonPath("path").isEqualTo("/api/v1/parking")
+                .jsonPath("code").isEqualTo("CODE_ALREADY_EXISTS");
     }
 
     @Test
@@ -93,7 +103,83 @@ public class ParkingIT {
                 .jsonPath("path").isEqualTo("/api/v1/parking");
     }
 
+    // vagas BUSY para não deixar códigos livres no índice em memória depois do parking-delete.sql;
+    // o limite só fecha com os três INSERTs em um único lote JDBC
+    @Test
+    @QueryBudget(max = 7)
+    public void createParkingBatch_WithValidData_ReturnsItemsCreatedWithStatus201() {
+        testClient
+                .post()
+                .uri("/api/v1/parking/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(JwtAuthentication
+                        .getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .bodyValue(List.of(
+                        new ParkingSpaceCreateDto("B-01", "BUSY"),
+                        new ParkingSpaceCreateDto("B-02", "BUSY"),
+                        new ParkingSpaceCreateDto("B-03", "BUSY")))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].code").isEqualTo("B-01")
+                .jsonPath("$[*].status").value(statuses ->
+                        Assertions.assertThat((List<String>) statuses).containsOnly("CREATED"));
+
+        testClient
+                .get()
+                .uri("/api/v1/parking/{code}", "B-03")
+                .headers(JwtAuthentication
+                        .getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("status").isEqualTo("BUSY");
+    }
+
+    @Test
+    public void createParkingBatch_WithExistingAndRepeatedCodes_ReturnsConflictsPerItemWithStatus207() {
+        testClient
+                .post()
+                .uri("/api/v1/parking/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(JwtAuthentication
+                        .getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .bodyValue(List.of(
+                        new ParkingSpaceCreateDto("A-01", "FREE"),
+                        new ParkingSpaceCreateDto("C-01", "BUSY"),
+                        new ParkingSpaceCreateDto("C-01", "BUSY")))
+                .exchange()
+                .expectStatus().isEqualTo(207)
+                .expectBody()
+                .jsonPath("$[0].code").isEqualTo("A-01")
+                .jsonPath("$[0].status").isEqualTo("CONFLICT")
+                .jsonPath("$[0].message").exists()
+                .jsonPath("$[1].status").isEqualTo("CREATED")
+                .jsonPath("$[2].status").isEqualTo("CONFLICT");
+    }
+
+    @Test
+    public void createParkingBatch_WithInvalidItem_ReturnsErrorMessageWithStatus422() {
+        testClient
+                .post()
+                .uri("/api/v1/parking/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(JwtAuthentication
+                        .getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .bodyValue(List.of(
+                        new ParkingSpaceCreateDto("D-01", "FREE"),
+                        new ParkingSpaceCreateDto("D-0002", "FREE")))
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("status").isEqualTo(422)
+                .jsonPath("path").isEqualTo("/api/v1/parking/batch")
+                .jsonPath("errors['[1].code']").exists();
+    }
+
     @Test
+    @QueryBudget(max = 2)
     public void findByCode_WithValidData_ReturnsParkingSpaceWithStatus200() {
         testClient
                 .get()
@@ -108,6 +194,61 @@ public class ParkingIT {
                 .jsonPath("status").isEqualTo("FREE");
     }
 
+    @Test
+    @QueryBudget(max = 2) // login + no máximo um SELECT: a segunda busca vem do cache
+    public void findByCode_RepeatedLookup_IsServedFromCache() {
+        Consumer<HttpHeaders> authorization = JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456");
+        double hits = cacheHits();
+
+        for (int i = 0; i < 2; i++) {
+            testClient
+                    .get()
+                    .uri("/api/v1/parking/{code}", "A-02")
+                    .headers(authorization)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("code").isEqualTo("A-02");
+        }
+
+        Assertions.assertThat(cacheHits()).isGreaterThanOrEqualTo(hits + 1);
+    }
+
+    private double cacheHits() {
+        return meterRegistry.get("cache.gets").tag("cache", "parkingSpacesByCode").tag("result", "hit")
+                .functionCounter().count();
+    }
+
+    @Test
+    public void findByCode_AfterCreatingCodeCachedAsNotFound_ReturnsParkingSpaceWithStatus200() {
+        Consumer<HttpHeaders> authorization = JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456");
+
+        testClient
+                .get()
+                .uri("/api/v1/parking/{code}", "F-01")
+                .headers(authorization)
+                .exchange()
+                .expectStatus().isNotFound();
+
+        testClient
+                .post()
+                .uri("/api/v1/parking")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(authorization)
+                .bodyValue(new ParkingSpaceCreateDto("F-01", "BUSY"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        testClient
+                .get()
+                .uri("/api/v1/parking/{code}", "F-01")
+                .headers(authorization)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("status").isEqualTo("BUSY");
+    }
+
     @Test
     public void findByCode_WithNonExistingParkingSpace_ReturnsErrorMessageWithStatus200() {
         testClient
@@ -120,7 +261,32 @@ public class ParkingIT {
                 .expectBody()
                 .jsonPath("status").isEqualTo(404)
                 .jsonPath("method").isEqualTo("GET")
-                .jsonPath("path").isEqualTo("/api/v1/parking/A-06");
+                .jsonPath("path").isEqualTo("/api/v1/parking/A-06")
+                .jsonPath("code").isEqualTo("ENTITY_NOT_FOUND");
+    }
+
+    @Test
+    public void findByCode_RepeatedNotFound_CountsEveryErrorEvenWhenLogIsSuppressed() {
+        Consumer<HttpHeaders> authorization = JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456");
+        double errors = apiErrors();
+
+        // acima de park.logging.api-errors.max-per-second: parte das linhas de log é descartada, o contador não
+        for (int i = 0; i < 15; i++) {
+            testClient
+                    .get()
+                    .uri("/api/v1/parking/{code}", "A-06")
+                    .headers(authorization)
+                    .exchange()
+                    .expectStatus().isNotFound();
+        }
+
+        Assertions.assertThat(apiErrors()).isEqualTo(errors + 15);
+    }
+
+    private double apiErrors() {
+        Counter counter = meterRegistry.find("park.api.errors")
+                .tag("exception", "EntityNotFoundException").tag("status", "404").counter();
+        return counter == null ? 0 : counter.count();
     }
 
     //401
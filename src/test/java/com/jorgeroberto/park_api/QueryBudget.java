@@ -0,0 +1,20 @@
+package com.jorgeroberto.park_api;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+ * Limite de comandos SQL (preparados pelo Hibernate) que um teste pode emitir, incluindo os logins feitos
+ * por JwtAuthentication (1 consulta cada). Os scripts @Sql não entram na conta. Um N+1 introduzido em uma
+ * rota coberta pelo teste estoura o limite e falha o build.
+ * */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+    int max();
+}
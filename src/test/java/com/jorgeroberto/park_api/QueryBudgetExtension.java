@@ -0,0 +1,43 @@
+package com.jorgeroberto.park_api;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+//Compara as estatísticas do Hibernate antes e depois do teste com o limite de @QueryBudget
+public class QueryBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(QueryBudgetExtension.class);
+    private static final String START = "start";
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(START, statistics(context).getPrepareStatementCount());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        QueryBudget budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), QueryBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), QueryBudget.class))
+                .orElseThrow();
+        long used = statistics(context).getPrepareStatementCount() - context.getStore(NAMESPACE).get(START, Long.class);
+        if (used > budget.max()) {
+            throw new AssertionError(String.format("%s executou %d comandos SQL, acima do limite de %d",
+                    context.getDisplayName(), used, budget.max()));
+        }
+    }
+
+    private static Statistics statistics(ExtensionContext context) {
+        Statistics statistics = SpringExtension.getApplicationContext(context)
+                .getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            throw new IllegalStateException("@QueryBudget exige spring.jpa.properties.hibernate.generate_statistics=true");
+        }
+        return statistics;
+    }
+}
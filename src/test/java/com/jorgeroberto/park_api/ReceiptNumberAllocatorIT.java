@@ -0,0 +1,62 @@
+package com.jorgeroberto.park_api;
+
+import com.jorgeroberto.park_api.services.ReceiptCounterService;
+import com.jorgeroberto.park_api.services.ReceiptNumberAllocator;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@SpringBootTest
+public class ReceiptNumberAllocatorIT {
+
+    @Autowired
+    ReceiptCounterService receiptCounterService;
+
+    @Test
+    public void next_FromSeveralInstancesConcurrently_NeverRepeatsANumber() throws Exception {
+        // três "instâncias" da aplicação com blocos pequenos, disputando a mesma linha do contador; o bean
+        // compartilhado fica de fora para não esgotar o bloco dele e mudar a contagem de SQL do check-in em outros testes
+        List<ReceiptNumberAllocator> instances = List.of(new ReceiptNumberAllocator(receiptCounterService, 100),
+                new ReceiptNumberAllocator(receiptCounterService, 7),
+                new ReceiptNumberAllocator(receiptCounterService, 13));
+        Set<Long> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(12);
+        try {
+            List<Future<?>> futures = IntStream.range(0, 12)
+                    .<Future<?>>mapToObj(t -> executor.submit(() -> {
+                        ReceiptNumberAllocator instance = instances.get(t % instances.size());
+                        for (int i = 0; i < 500; i++) {
+                            Assertions.assertThat(numbers.add(instance.next())).isTrue();
+                        }
+                    }))
+                    .toList();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertThat(numbers).hasSize(12 * 500);
+    }
+
+    @Test
+    public void next_AfterRestart_ContinuesAfterEveryLeasedBlock() {
+        ReceiptNumberAllocator beforeRestart = new ReceiptNumberAllocator(receiptCounterService, 50);
+        long last = beforeRestart.next();
+
+        // o restante do bloco em memória se perde com a instância; a nova reserva começa depois dele
+        ReceiptNumberAllocator afterRestart = new ReceiptNumberAllocator(receiptCounterService, 50);
+        Assertions.assertThat(afterRestart.next()).isGreaterThanOrEqualTo(last + 50);
+    }
+}
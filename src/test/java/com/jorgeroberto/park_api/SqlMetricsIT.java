@@ -0,0 +1,96 @@
+package com.jorgeroberto.park_api;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = "/sql/users/users-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/sql/users/users-delete.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class SqlMetricsIT {
+
+    @Autowired
+    WebTestClient testClient;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    public void findUsers_RecordsStatementsAndEntityLoadsTaggedByHandler() {
+        String handler = "UserController.findAll";
+        Consumer<HttpHeaders> authorization = JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456");
+        long requests = count("park.sql.statements", handler);
+        double statements = total("park.sql.statements", handler);
+        double entityLoads = total("park.sql.entity.loads", handler);
+
+        testClient
+                .get()
+                .uri("/api/v1/users")
+                .headers(authorization)
+                .exchange()
+                .expectStatus().isOk();
+
+        // os totais são publicados ao final da requisição, que pode terminar depois da resposta chegar ao cliente
+        Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                Assertions.assertThat(count("park.sql.statements", handler)).isEqualTo(requests + 1));
+        // uma consulta de projeção: a página é menor que o size, então o Spring Data dispensa o count
+        Assertions.assertThat(total("park.sql.statements", handler) - statements).isEqualTo(1.0);
+        Assertions.assertThat(total("park.sql.entity.loads", handler) - entityLoads).isEqualTo(0.0);
+        Assertions.assertThat(meterRegistry.find("park.sql.jdbc.time").tag("handler", handler).timer()).isNotNull();
+    }
+
+    @Test
+    public void authenticate_RecordsStatementsOfTheAsyncHandler() {
+        String handler = "AuthenticationController.authenticate";
+        long requests = count("park.sql.statements", handler);
+        double statements = total("park.sql.statements", handler);
+
+        JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456");
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                Assertions.assertThat(count("park.sql.statements", handler)).isEqualTo(requests + 1));
+        Assertions.assertThat(total("park.sql.statements", handler) - statements).isEqualTo(1.0);
+    }
+
+    @Test
+    public void metricsEndpoint_WithAdminToken_ReturnsSqlMetricWithHandlerTag() {
+        testClient
+                .get()
+                .uri("/actuator/metrics/park.sql.statements")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("name").isEqualTo("park.sql.statements")
+                .jsonPath("availableTags[0].tag").isEqualTo("handler");
+    }
+
+    @Test
+    public void metricsEndpoint_WithoutToken_ReturnsStatus401() {
+        testClient
+                .get()
+                .uri("/actuator/metrics")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    private long count(String name, String handler) {
+        DistributionSummary summary = meterRegistry.find(name).tag("handler", handler).summary();
+        return summary == null ? 0 : summary.count();
+    }
+
+    private double total(String name, String handler) {
+        DistributionSummary summary = meterRegistry.find(name).tag("handler", handler).summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+}
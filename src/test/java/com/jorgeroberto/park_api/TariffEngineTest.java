@@ -0,0 +1,124 @@
+package com.jorgeroberto.park_api;
+
+import com.jorgeroberto.park_api.config.SpringTimezoneConfig;
+import com.jorgeroberto.park_api.services.TariffEngine;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.List;
+import java.util.Random;
+
+/*
+ * Propriedades da tarifa verificadas sobre milhares de estadias geradas com semente fixa, concentradas em
+ * volta das mudanças de horário de verão de America/Sao_Paulo (até 2019). A referência calcula a tarifa
+ * com BigDecimal direto da duração real, sem a tabela pré-calculada.
+ * */
+public class TariffEngineTest {
+
+    private static final long SEED = 20181104L;
+    private static final int TRIALS = 2_000;
+    private static final ZoneId ZONE = ZoneId.of(SpringTimezoneConfig.TIMEZONE);
+
+    private final TariffEngine engine = new TariffEngine(15, new BigDecimal("5.00"), 60, new BigDecimal("9.25"),
+            new BigDecimal("60.00"), 10, 30);
+
+    @Test
+    public void fee_AroundDstTransitions_MatchesElapsedTimeAndNeverOvercharges() {
+        Random random = new Random(SEED);
+        List<ZoneOffsetTransition> transitions = ZONE.getRules().getTransitions().stream()
+                .filter(t -> t.getInstant().isAfter(Instant.parse("2008-01-01T00:00:00Z")))
+                .toList();
+        Assertions.assertThat(transitions).hasSizeGreaterThan(20);
+
+        for (ZoneOffsetTransition transition : transitions) {
+            for (int i = 0; i < TRIALS; i++) {
+                Instant entry = transition.getInstant().plusSeconds(random.nextInt(72 * 3600) - 36 * 3600);
+                Duration stay = Duration.ofSeconds(random.nextInt(72 * 3600));
+                LocalDateTime entryDate = LocalDateTime.ofInstant(entry, ZONE);
+
+                long fee = engine.feeCents(entryDate, entry.plus(stay));
+                long expected = referenceCents(stay);
+                String context = "entrada " + entryDate + " (" + entry + "), permanência " + stay;
+
+                Assertions.assertThat(fee).as(context).isLessThanOrEqualTo(expected);
+                if (ZONE.getRules().getValidOffsets(entryDate).size() == 1) {
+                    Assertions.assertThat(fee).as(context).isEqualTo(expected);
+                } else {
+                    // entrada na hora repetida: no máximo uma hora a menos é cobrada
+                    Assertions.assertThat(fee).as(context).isGreaterThanOrEqualTo(referenceCents(stay.minusHours(1)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void fee_ForLongerStay_IsNeverLowerAndStaysUnderDailyCaps() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < TRIALS * 10; i++) {
+            long entry = 1_500_000_000L + random.nextInt(200_000_000);
+            long shorter = random.nextInt(10 * 24 * 3600);
+            long longer = shorter + random.nextInt(3 * 3600);
+
+            long fee = engine.feeCents(entry, entry + shorter);
+            Assertions.assertThat(engine.feeCents(entry, entry + longer)).isGreaterThanOrEqualTo(fee);
+            Assertions.assertThat(fee).isBetween(500L, (shorter / 86_400 + 1) * 6_000);
+        }
+    }
+
+    @Test
+    public void fee_OnSpringForwardNight_PaysElapsedMinutesNotWallClock() {
+        // 04/11/2018: 00:00 virou 01:00; 23:50 -> 01:10 no relógio são 20 minutos reais
+        LocalDateTime entryDate = LocalDateTime.of(2018, 11, 3, 23, 50);
+        Instant exit = LocalDateTime.of(2018, 11, 4, 1, 10).atOffset(ZoneOffset.ofHours(-2)).toInstant();
+
+        Assertions.assertThat(engine.feeCents(entryDate, exit)).isEqualTo(1425);
+    }
+
+    @Test
+    public void fee_OnFallBackNight_PaysTheRepeatedHour() {
+        // 17/02/2019: 00:00 voltou para 23:00; 22:50 -> 23:10 (segunda vez) no relógio são 80 minutos reais
+        LocalDateTime entryDate = LocalDateTime.of(2019, 2, 16, 22, 50);
+        Instant exit = LocalDateTime.of(2019, 2, 16, 23, 10).atOffset(ZoneOffset.ofHours(-3)).toInstant();
+
+        Assertions.assertThat(engine.feeCents(entryDate, exit)).isEqualTo(2350);
+    }
+
+    @Test
+    public void discount_AfterLoyaltyVisits_AppliesPercentageWithoutExceedingFee() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < TRIALS; i++) {
+            long fee = random.nextInt(100_000);
+            long visits = random.nextInt(20);
+
+            long discount = engine.discountCents(fee, visits);
+            if (visits < 10) {
+                Assertions.assertThat(discount).isZero();
+            } else {
+                Assertions.assertThat(discount).isEqualTo(fee * 30 / 100).isBetween(0L, fee);
+            }
+        }
+    }
+
+    //Tarifa calculada dia a dia com BigDecimal, como descrita nas regras
+    private static long referenceCents(Duration stay) {
+        long minutes = Math.max(0, (stay.getSeconds() + 59) / 60);
+        BigDecimal total = BigDecimal.ZERO;
+        do {
+            long day = Math.min(minutes, 24 * 60);
+            BigDecimal fee = new BigDecimal("5.00");
+            if (day > 15) {
+                fee = fee.add(new BigDecimal("9.25").multiply(BigDecimal.valueOf((day - 15 + 59) / 60)));
+            }
+            total = total.add(fee.min(new BigDecimal("60.00")));
+            minutes -= day;
+        } while (minutes > 0);
+        return total.movePointRight(2).longValueExact();
+    }
+}
@@ -1,5 +1,6 @@
 package com.jorgeroberto.park_api;
 
+import com.jorgeroberto.park_api.web.dto.PageableDto;
 import com.jorgeroberto.park_api.web.dto.UserCreateDto;
 import com.jorgeroberto.park_api.web.dto.UserPasswordDto;
 import com.jorgeroberto.park_api.web.dto.UserResponseDto;
@@ -8,11 +9,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.assertj.core.api.Assertions;
 
 import java.util.List;
+import java.util.Map;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Sql(scripts = "/sql/users/users-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
@@ -21,6 +24,9 @@ public class UserIT {
     @Autowired
     WebTestClient testClient;
 
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
     //motivo do teste - o que vai ser testado - o que vai ser retornado
     @Test
     public void createUser_WithValidUsernameAndPassword_ReturnsCreatedUserStatus201 () {
@@ -141,7 +147,44 @@ public class UserIT {
         Assertions.assertThat(responseBody.getStatus()).isEqualTo(409);
     }
 
+    // username já cadastrado pela API é barrado antes do INSERT: nenhum valor de auto-incremento é perdido
+    @Test
+    public void createUser_WithDuplicateUsernameCreatedByApi_ReturnsStatus409WithoutBurningId () {
+        UserResponseDto first = testClient.
+                post()
+                .uri("api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserCreateDto("dup@email.com", "123456"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(UserResponseDto.class)
+                .returnResult().getResponseBody();
+
+        testClient.
+                post()
+                .uri("api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserCreateDto("dup@email.com", "654321"))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("code").isEqualTo("USERNAME_ALREADY_EXISTS");
+
+        UserResponseDto next = testClient.
+                post()
+                .uri("api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserCreateDto("next@email.com", "123456"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(UserResponseDto.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(next.getId()).isEqualTo(first.getId() + 1);
+    }
+
     @Test
+    @QueryBudget(max = 6)
     public void findUser_WithExistingId_ReturnsUserWithStatus200 () {
         /*ADMIN buscando ele mesmo*/
         UserResponseDto responseBody = testClient.
@@ -252,6 +295,10 @@ public class UserIT {
                 .bodyValue(new UserPasswordDto("123456", "123456", "123456"))
                 .exchange()
                 .expectStatus().isNoContent();
+
+        // o hash roda no executor de senhas, que precisa levar o usuário autenticado para a auditoria
+        String updatedBy = jdbcTemplate.queryForObject("select updated_by from users where id = 100", String.class);
+        Assertions.assertThat(updatedBy).isEqualTo("ana@email.com");
     }
 
     @Test
@@ -363,23 +410,62 @@ public class UserIT {
     }
 
     @Test
-    public void findUsers_AllUsers_ReturnsListOfUsersWithStatus200 () {
-        List<UserResponseDto> responseBody = testClient.
+    @QueryBudget(max = 4)
+    public void findUsers_WithPagination_ReturnsPageOfUsersWithStatus200 () {
+        PageableDto responseBody = testClient.
                  get()
                 .uri("api/v1/users")
                 .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
                 .exchange()
                 .expectStatus().isOk()
-                .expectBodyList(UserResponseDto.class)
+                .expectBody(PageableDto.class)
                 .returnResult().getResponseBody();
 
         Assertions.assertThat(responseBody).isNotNull();
-        Assertions.assertThat(responseBody).isNotEmpty();
+        Assertions.assertThat(responseBody.getContent().size()).isEqualTo(3);
+        Assertions.assertThat(responseBody.getNumber()).isEqualTo(0);
+        Assertions.assertThat(responseBody.getTotalElements()).isEqualTo(3);
+
+        Map<String, Object> user = (Map<String, Object>) responseBody.getContent().get(0);
+        Assertions.assertThat(user.get("id")).isEqualTo(100);
+        Assertions.assertThat(user.get("username")).isEqualTo("ana@email.com");
+        Assertions.assertThat(user.get("role")).isEqualTo("ADMIN");
+        Assertions.assertThat(user).doesNotContainKey("password");
+
+        responseBody = testClient.
+                get()
+                .uri("api/v1/users?size=2&page=1")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(PageableDto.class)
+                .returnResult().getResponseBody();
 
-        UserResponseDto user = responseBody.get(0);
-        Assertions.assertThat(user.getId()).isEqualTo(100);
-        Assertions.assertThat(user.getUsername()).isEqualTo("ana@email.com");
-        Assertions.assertThat(user.getRole()).isEqualTo("ADMIN");
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getContent().size()).isEqualTo(1);
+        Assertions.assertThat(responseBody.getNumber()).isEqualTo(1);
+        Assertions.assertThat(responseBody.getTotalPages()).isEqualTo(2);
+    }
+
+    @Test
+    @QueryBudget(max = 3)
+    public void findUsers_WithNdjson_ReturnsAllUsersOnePerLineWithStatus200 () {
+        List<UserResponseDto> responseBody = testClient.
+                get()
+                .uri("api/v1/users")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(UserResponseDto.class)
+                .getResponseBody()
+                .collectList().block();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody).extracting(UserResponseDto::getId).containsExactly(100L, 101L, 102L);
+        Assertions.assertThat(responseBody.get(0).getUsername()).isEqualTo("ana@email.com");
+        Assertions.assertThat(responseBody.get(0).getRole()).isEqualTo("ADMIN");
     }
 
     //Está retornando 401 -> erro no teste
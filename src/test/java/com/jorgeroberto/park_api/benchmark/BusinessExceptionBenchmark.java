@@ -0,0 +1,79 @@
+package com.jorgeroberto.park_api.benchmark;
+
+import com.jorgeroberto.park_api.entities.ParkingSpace;
+import com.jorgeroberto.park_api.exceptions.EntityNotFoundException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Caminho do 404 de GET /api/v1/parking/{code}: busca sem resultado, orElseThrow e captura no handler.
+ * Compara a exceção antiga (RuntimeException com stack trace) com a EntityNotFoundException sem stack trace.
+ * O parâmetro depth empilha frames antes do lançamento, já que o custo do fillInStackTrace cresce com a
+ * pilha; numa requisição real (Tomcat, filtros do Security, MVC) ela passa de 100 frames.
+ * Executar pelo main(), que roda a suíte com 1, 8 e 32 threads e o GCProfiler para a taxa de alocação.
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BusinessExceptionBenchmark {
+
+    @Param({"10", "150"})
+    private int depth;
+
+    private final Optional<ParkingSpace> notFound = Optional.empty();
+
+    @Benchmark
+    public String notFoundLegacy() {
+        try {
+            return descend(depth, true);
+        } catch (LegacyEntityNotFoundException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String notFound() {
+        try {
+            return descend(depth, false);
+        } catch (EntityNotFoundException e) {
+            return e.getErrorCode().name();
+        }
+    }
+
+    private String descend(int remaining, boolean legacy) {
+        if (remaining > 0) {
+            return descend(remaining - 1, legacy);
+        }
+        String code = "Z-99";
+        return notFound.orElseThrow(() -> legacy
+                ? new LegacyEntityNotFoundException(String.format("Parking Space with code : %s not found", code))
+                : new EntityNotFoundException(String.format("Parking Space with code : %s not found", code))
+        ).getCode();
+    }
+
+    //EntityNotFoundException antes da BusinessException
+    private static class LegacyEntityNotFoundException extends RuntimeException {
+        LegacyEntityNotFoundException(String message) {
+            super(message);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 8, 32}) {
+            new Runner(new OptionsBuilder()
+                    .include(BusinessExceptionBenchmark.class.getSimpleName())
+                    .addProfiler(GCProfiler.class)
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+}
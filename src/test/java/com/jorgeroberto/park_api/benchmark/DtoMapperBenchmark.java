@@ -0,0 +1,172 @@
+package com.jorgeroberto.park_api.benchmark;
+
+import com.jorgeroberto.park_api.entities.Customer;
+import com.jorgeroberto.park_api.entities.CustomerParkingSpace;
+import com.jorgeroberto.park_api.entities.ParkingSpace;
+import com.jorgeroberto.park_api.entities.User;
+import com.jorgeroberto.park_api.web.dto.CustomerResponseDto;
+import com.jorgeroberto.park_api.web.dto.PageableDto;
+import com.jorgeroberto.park_api.web.dto.ParkingResponseDto;
+import com.jorgeroberto.park_api.web.dto.ParkingSpaceResponseDto;
+import com.jorgeroberto.park_api.web.dto.UserResponseDto;
+import com.jorgeroberto.park_api.web.dto.mapper.CustomerMapper;
+import com.jorgeroberto.park_api.web.dto.mapper.PageableMapper;
+import com.jorgeroberto.park_api.web.dto.mapper.ParkingMapper;
+import com.jorgeroberto.park_api.web.dto.mapper.ParkingSpaceMapper;
+import com.jorgeroberto.park_api.web.dto.mapper.UserMapper;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.PropertyMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/*
+ * Compara os mapeadores antigos (new ModelMapper() a cada chamada e, no UserMapper, um PropertyMap novo
+ * por objeto) com os mapeadores escritos à mão. Os métodos legacy* reproduzem o código removido.
+ * Executar pelo main(), que roda a suíte com 1, 8 e 32 threads e o GCProfiler para a taxa de alocação.
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMapperBenchmark {
+
+    private User user;
+    private List<User> users;
+    private Customer customer;
+    private ParkingSpace parkingSpace;
+    private CustomerParkingSpace customerParkingSpace;
+    private Page<CustomerResponseDto> page;
+
+    @Setup
+    public void setup() {
+        user = user(100L);
+        users = LongStream.range(0, 20).mapToObj(DtoMapperBenchmark::user).toList();
+
+        customer = new Customer();
+        customer.setId(10L);
+        customer.setName("Jorge Roberto");
+        customer.setCpf("68788268020");
+
+        parkingSpace = new ParkingSpace();
+        parkingSpace.setId(20L);
+        parkingSpace.setCode("A-02");
+        parkingSpace.setStatus(ParkingSpace.ParkingStatus.BUSY);
+
+        customerParkingSpace = new CustomerParkingSpace();
+        customerParkingSpace.setPlate("WER-1111");
+        customerParkingSpace.setBrand("FIAT");
+        customerParkingSpace.setModel("PALIO 1.0");
+        customerParkingSpace.setColor("AZUL");
+        customerParkingSpace.setReceipt("20250301-101300");
+        customerParkingSpace.setEntryDate(LocalDateTime.now());
+        customerParkingSpace.setCustomer(customer);
+        customerParkingSpace.setParkingSpace(parkingSpace);
+
+        page = new PageImpl<>(List.of(CustomerMapper.toDto(customer)), PageRequest.of(0, 5), 1);
+    }
+
+    private static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id + "@email.com");
+        user.setRole(User.Role.ROLE_ADMIN);
+        return user;
+    }
+
+    @Benchmark
+    public UserResponseDto userLegacy() {
+        return legacyUserToDto(user);
+    }
+
+    @Benchmark
+    public UserResponseDto user() {
+        return UserMapper.toDto(user);
+    }
+
+    @Benchmark
+    public List<UserResponseDto> userListLegacy() {
+        return users.stream().map(DtoMapperBenchmark::legacyUserToDto).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<UserResponseDto> userList() {
+        return UserMapper.toListDto(users);
+    }
+
+    @Benchmark
+    public CustomerResponseDto customerLegacy() {
+        return new ModelMapper().map(customer, CustomerResponseDto.class);
+    }
+
+    @Benchmark
+    public CustomerResponseDto customer() {
+        return CustomerMapper.toDto(customer);
+    }
+
+    @Benchmark
+    public ParkingSpaceResponseDto parkingSpaceLegacy() {
+        return new ModelMapper().map(parkingSpace, ParkingSpaceResponseDto.class);
+    }
+
+    @Benchmark
+    public ParkingSpaceResponseDto parkingSpace() {
+        return ParkingSpaceMapper.toDto(parkingSpace);
+    }
+
+    @Benchmark
+    public ParkingResponseDto parkingLegacy() {
+        return new ModelMapper().map(customerParkingSpace, ParkingResponseDto.class);
+    }
+
+    @Benchmark
+    public ParkingResponseDto parking() {
+        return ParkingMapper.toDto(customerParkingSpace);
+    }
+
+    @Benchmark
+    public PageableDto pageableLegacy() {
+        return new ModelMapper().map(page, PageableDto.class);
+    }
+
+    @Benchmark
+    public PageableDto pageable() {
+        return PageableMapper.toDto(page);
+    }
+
+    private static UserResponseDto legacyUserToDto(User user) {
+        String role = user.getRole().name().substring("ROLE_".length());
+        PropertyMap<User, UserResponseDto> props = new PropertyMap<User, UserResponseDto>() {
+            @Override
+            protected void configure() {
+                map().setRole(role);
+            }
+        };
+        ModelMapper mapper = new ModelMapper();
+        mapper.addMappings(props);
+        return mapper.map(user, UserResponseDto.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 8, 32}) {
+            new Runner(new OptionsBuilder()
+                    .include(DtoMapperBenchmark.class.getSimpleName())
+                    .addProfiler(GCProfiler.class)
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+}
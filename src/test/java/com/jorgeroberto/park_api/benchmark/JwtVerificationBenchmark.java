@@ -0,0 +1,85 @@
+package com.jorgeroberto.park_api.benchmark;
+
+import com.jorgeroberto.park_api.jwt.JwtClaims;
+import com.jorgeroberto.park_api.jwt.JwtUtils;
+import com.jorgeroberto.park_api.jwt.JwtVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compara a verificação antiga (JwtUtils.isTokenValid + getUsernameFromToken, com chave e parser
+ * reconstruídos e o token verificado duas vezes) com o JwtVerifier, com e sem o cache de tokens.
+ * Executar pelo main(), que roda a suíte com 1, 8 e 32 threads.
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private String token;
+    private JwtVerifier verifier;
+    private JwtVerifier uncachedVerifier;
+
+    @Setup
+    public void setup() {
+        token = JwtUtils.JWT_BEARER + JwtUtils.createToken(100L, "ana@email.com", "ADMIN").getToken();
+        verifier = new JwtVerifier(10_000);
+        uncachedVerifier = new JwtVerifier(0);
+    }
+
+    @Benchmark
+    public String legacy() {
+        if (!legacyIsTokenValid(token)) {
+            return null;
+        }
+        return legacyClaimsFromToken(token).getSubject();
+    }
+
+    @Benchmark
+    public JwtClaims verifierSinglePass() {
+        return uncachedVerifier.verify(token);
+    }
+
+    @Benchmark
+    public JwtClaims verifierCached() {
+        return verifier.verify(token);
+    }
+
+    private static boolean legacyIsTokenValid(String token) {
+        try {
+            Jwts.parserBuilder()
+                    .setSigningKey(Keys.hmacShaKeyFor(JwtUtils.SECRET_KEY.getBytes(StandardCharsets.UTF_8))).build()
+                    .parseClaimsJws(token.substring(JwtUtils.JWT_BEARER.length()));
+            return true;
+        } catch (JwtException ex) {
+            return false;
+        }
+    }
+
+    private static Claims legacyClaimsFromToken(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(JwtUtils.SECRET_KEY.getBytes(StandardCharsets.UTF_8))).build()
+                .parseClaimsJws(token.substring(JwtUtils.JWT_BEARER.length())).getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 8, 32}) {
+            new Runner(new OptionsBuilder()
+                    .include(JwtVerificationBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.jorgeroberto.park_api.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Logins por segundo (verificação bcrypt de uma senha correta) para cada custo de park.security.bcrypt.strength,
+ * usando o mesmo DelegatingPasswordEncoder da aplicação. Ajuda a escolher o custo a partir do volume de
+ * logins esperado e do número de threads do executor de hashing.
+ * Executar pelo main(), que roda a suíte com 1, 8 e 32 threads.
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    @Param({"4", "8", "10", "12"})
+    private int strength;
+
+    private PasswordEncoder encoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setup() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encodedPassword = encoder.encode("123456");
+    }
+
+    @Benchmark
+    public boolean login() {
+        return encoder.matches("123456", encodedPassword);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 8, 32}) {
+            new Runner(new OptionsBuilder()
+                    .include(PasswordHashingBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.jorgeroberto.park_api.benchmark;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Simula a ida e volta de rede até o MySQL: cada comando SQL espera park.benchmark.sql-latency-ms na thread
+ * da requisição, com a conexão do pool em uso, antes de seguir para o H2 em memória.
+ * */
+public class SqlLatencyStatementInspector implements StatementInspector {
+
+    private static final long LATENCY_MS = Long.getLong("park.benchmark.sql-latency-ms", 5);
+
+    @Override
+    public String inspect(String sql) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(LATENCY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,97 @@
+package com.jorgeroberto.park_api.benchmark;
+
+import com.jorgeroberto.park_api.config.SpringTimezoneConfig;
+import com.jorgeroberto.park_api.services.TariffEngine;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Tarifa do check-out: TariffEngine (tabela pré-calculada, aritmética sobre long) contra o cálculo direto
+ * das regras com ZonedDateTime, Duration e BigDecimal a cada chamada (naive).
+ * As estadias vão de 0 a 72h e são percorridas em ordem por thread, para não medir sempre o mesmo ramo.
+ * Executar pelo main(), que roda a suíte com 1, 8 e 32 threads e o GCProfiler para a taxa de alocação.
+ * */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TariffEngineBenchmark {
+
+    private static final int STAYS = 1024;
+    private static final ZoneId ZONE = ZoneId.of(SpringTimezoneConfig.TIMEZONE);
+    private static final BigDecimal FIRST_PRICE = new BigDecimal("5.00");
+    private static final BigDecimal BLOCK_PRICE = new BigDecimal("9.25");
+    private static final BigDecimal DAILY_CAP = new BigDecimal("60.00");
+
+    private final TariffEngine engine = new TariffEngine(15, FIRST_PRICE, 60, BLOCK_PRICE, DAILY_CAP, 10, 30);
+    private final LocalDateTime[] entries = new LocalDateTime[STAYS];
+    private final Instant[] exits = new Instant[STAYS];
+    private final long[] visits = new long[STAYS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < STAYS; i++) {
+            Instant entry = Instant.parse("2025-03-01T10:00:00Z").plusSeconds(random.nextInt(30 * 24 * 3600));
+            entries[i] = LocalDateTime.ofInstant(entry, ZONE);
+            exits[i] = entry.plusSeconds(random.nextInt(72 * 3600));
+            visits[i] = random.nextInt(20);
+        }
+    }
+
+    @Benchmark
+    public long naive() {
+        int i = next++ & (STAYS - 1);
+        BigDecimal fee = naiveFee(Duration.between(entries[i].atZone(ZONE), exits[i].atZone(ZONE)));
+        BigDecimal discount = visits[i] >= 10 ? fee.multiply(new BigDecimal("0.30")).setScale(2, RoundingMode.DOWN)
+                : BigDecimal.ZERO;
+        return fee.subtract(discount).unscaledValue().longValue();
+    }
+
+    @Benchmark
+    public long engine() {
+        int i = next++ & (STAYS - 1);
+        long fee = engine.feeCents(entries[i], exits[i]);
+        return fee - engine.discountCents(fee, visits[i]);
+    }
+
+    private static BigDecimal naiveFee(Duration stay) {
+        long minutes = Math.max(0, (stay.getSeconds() + 59) / 60);
+        BigDecimal total = BigDecimal.ZERO;
+        do {
+            long day = Math.min(minutes, 24 * 60);
+            BigDecimal fee = FIRST_PRICE;
+            if (day > 15) {
+                fee = fee.add(BLOCK_PRICE.multiply(BigDecimal.valueOf((day - 15 + 59) / 60)));
+            }
+            total = total.add(fee.min(DAILY_CAP));
+            minutes -= day;
+        } while (minutes > 0);
+        return total;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 8, 32}) {
+            new Runner(new OptionsBuilder()
+                    .include(TariffEngineBenchmark.class.getSimpleName())
+                    .addProfiler(GCProfiler.class)
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+}
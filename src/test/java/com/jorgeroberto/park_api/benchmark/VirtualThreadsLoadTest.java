@@ -0,0 +1,129 @@
+package com.jorgeroberto.park_api.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jorgeroberto.park_api.ParkApiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/*
+ * Compara a latência de GET /api/v1/users/{id} com threads de plataforma (Tomcat, 200 threads) e com virtual threads
+ * (spring.threads.virtual.enabled), com N clientes simultâneos. A aplicação sobe no próprio processo com H2 e cada
+ * comando SQL ganha uma latência artificial (SqlLatencyStatementInspector) para que as requisições fiquem
+ * bloqueadas como ficariam esperando o MySQL.
+ * O modo virtual só roda em Java 21+. Parâmetros (-D): park.benchmark.concurrency (2000),
+ * park.benchmark.requests-per-client (5), park.benchmark.sql-latency-ms (5), park.benchmark.pool-size (50).
+ * Com o pool do Hikari menor que o número de clientes, as duas execuções esperam pela conexão e a diferença
+ * cai; o ganho das virtual threads aparece quando o gargalo é o pool de threads do Tomcat.
+ * */
+public class VirtualThreadsLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("park.benchmark.concurrency", 2000);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("park.benchmark.requests-per-client", 5);
+    private static final int POOL_SIZE = Integer.getInteger("park.benchmark.pool-size", 50);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        // o restart do devtools trocaria o classloader e subiria a aplicação em outra thread
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        run(false);
+        if (Runtime.version().feature() >= 21) {
+            run(true);
+        } else {
+            System.out.println("Java " + Runtime.version().feature() + ": modo virtual threads exige Java 21, ignorado");
+        }
+    }
+
+    private static void run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ParkApiApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector=" + SqlLatencyStatementInspector.class.getName(),
+                "--server.tomcat.max-connections=" + (CONCURRENCY + 100),
+                "--logging.level.root=WARN")) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30)).build();
+
+            long id = post(client, baseUrl + "/api/v1/users", "{\"username\":\"load@email.com\",\"password\":\"123456\"}")
+                    .get("id").asLong();
+            String token = post(client, baseUrl + "/api/v1/auth", "{\"username\":\"load@email.com\",\"password\":\"123456\"}")
+                    .get("token").asText();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/users/" + id))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+
+            // aquecimento com poucos clientes, fora da medição
+            measure(client, request, 20, 20);
+            long[] latencies = new long[CONCURRENCY * REQUESTS_PER_CLIENT];
+            long start = System.nanoTime();
+            int errors = measure(client, request, CONCURRENCY, REQUESTS_PER_CLIENT, latencies);
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            System.out.printf("%s: %d clientes x %d requisições, pool=%d -> p50=%.1fms p99=%.1fms max=%.1fms, %.0f req/s, %d erros%n",
+                    virtualThreads ? "virtual threads" : "threads de plataforma", CONCURRENCY, REQUESTS_PER_CLIENT, POOL_SIZE,
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6,
+                    latencies.length / (elapsed / 1e9), errors);
+        }
+    }
+
+    private static int measure(HttpClient client, HttpRequest request, int clients, int requestsPerClient) {
+        return measure(client, request, clients, requestsPerClient, new long[clients * requestsPerClient]);
+    }
+
+    //Cada cliente faz suas requisições em sequência; os clientes rodam todos ao mesmo tempo
+    private static int measure(HttpClient client, HttpRequest request, int clients, int requestsPerClient, long[] latencies) {
+        AtomicInteger errors = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = IntStream.range(0, clients)
+                .mapToObj(c -> {
+                    CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        int slot = c * requestsPerClient + r;
+                        chain = chain.thenCompose(ignored -> {
+                            long sent = System.nanoTime();
+                            return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                                    .handle((response, ex) -> {
+                                        latencies[slot] = System.nanoTime() - sent;
+                                        if (ex != null || response.statusCode() != 200) {
+                                            errors.incrementAndGet();
+                                        }
+                                        return null;
+                                    });
+                        });
+                    }
+                    return chain;
+                })
+                .toList();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        return errors.get();
+    }
+
+    private static JsonNode post(HttpClient client, String url, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return MAPPER.readTree(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1] / 1e6;
+    }
+}
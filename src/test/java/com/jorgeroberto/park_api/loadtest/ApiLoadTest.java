@@ -0,0 +1,105 @@
+package com.jorgeroberto.park_api.loadtest;
+
+import com.jorgeroberto.park_api.JwtAuthentication;
+import com.jorgeroberto.park_api.services.FreeParkingSpaceIndex;
+import com.jorgeroberto.park_api.web.dto.ParkingCreateDto;
+import com.jorgeroberto.park_api.web.dto.UserLoginDto;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/*
+ * Testes de carga da API (tag "load", fora do mvn test padrão): mvn test -Pload-test
+ * Cada cenário imprime vazão e p50/p95/p99 e grava o resumo e o histograma em target/load-test/.
+ * Falha se houver respostas fora de 2xx ou se o p99 passar de -Dpark.loadtest.<cenário>.max-p99-ms, quando informado.
+ * */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=false",
+        "logging.level.com.jorgeroberto.park_api=WARN"
+})
+@Sql(scripts = "/sql/load/load-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/sql/load/load-delete.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class ApiLoadTest {
+
+    private static final Path REPORT_DIRECTORY = Path.of("target", "load-test");
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    WebTestClient testClient;
+
+    @Autowired
+    FreeParkingSpaceIndex freeParkingSpaceIndex;
+
+    LoadTestRunner runner;
+    Consumer<HttpHeaders> admin;
+
+    @BeforeEach
+    public void setup() {
+        runner = new LoadTestRunner(WebClient.create("http://localhost:" + port));
+        admin = JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456");
+        // as vagas do script entram no índice de vagas livres como entrariam na subida da aplicação
+        freeParkingSpaceIndex.reconcile();
+    }
+
+    // bcrypt domina: poucas requisições e concorrência dentro da fila do executor de hashing
+    @Test
+    public void loginStorm() throws IOException {
+        verify(runner.run(new LoadScenario("loginStorm", 50, 4, (client, i) -> client
+                .post()
+                .uri("/api/v1/auth")
+                .bodyValue(new UserLoginDto("ana@email.com", "123456")))));
+    }
+
+    @Test
+    public void customerListing() throws IOException {
+        verify(runner.run(new LoadScenario("customerListing", 2000, 32, (client, i) -> client
+                .get()
+                .uri("/api/v1/customers?size=20&page={page}", i % 25)
+                .headers(admin))));
+    }
+
+    @Test
+    public void parkingLookup() throws IOException {
+        verify(runner.run(new LoadScenario("parkingLookup", 5000, 64, (client, i) -> client
+                .get()
+                .uri("/api/v1/parking/{code}", String.format("L%03d", i % 500 + 1))
+                .headers(admin))));
+    }
+
+    // cada check-in ocupa uma das 500 vagas do script: requisições + 10% de aquecimento precisam caber nelas
+    @Test
+    public void checkInBurst() throws IOException {
+        verify(runner.run(new LoadScenario("checkInBurst", 300, 16, (client, i) -> client
+                .post()
+                .uri("/api/v1/parking/check-in")
+                .headers(admin)
+                .bodyValue(new ParkingCreateDto(String.format("LOA-%04d", i), "FIAT", "PALIO 1.0", "AZUL", "68788268020")))));
+    }
+
+    private void verify(LoadReport report) throws IOException {
+        report.write(REPORT_DIRECTORY);
+        System.out.println(report.summary());
+
+        Assertions.assertThat(report.getErrors()).as("respostas fora de 2xx: %s", report.getStatuses()).isZero();
+        String maxP99 = System.getProperty("park.loadtest." + report.getScenario().getName() + ".max-p99-ms");
+        if (maxP99 != null) {
+            Assertions.assertThat(report.percentileMillis(99)).as("p99 (ms)").isLessThanOrEqualTo(Double.parseDouble(maxP99));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.jorgeroberto.park_api.loadtest;
+
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Resultado de um cenário: vazão, percentis (ms) e contagem por status HTTP.
+ * write() grava o resumo e a distribuição completa (.hgrm, em ms) em target/load-test/ para comparar entre commits.
+ * */
+@Getter
+public class LoadReport {
+    private final LoadScenario scenario;
+    private final Histogram histogram;
+    private final Map<Integer, Long> statuses = new TreeMap<>();
+    private final long elapsedNanos;
+
+    public LoadReport(LoadScenario scenario, Histogram histogram, Map<Integer, LongAdder> statuses, long elapsedNanos) {
+        this.scenario = scenario;
+        this.histogram = histogram;
+        this.elapsedNanos = elapsedNanos;
+        statuses.forEach((status, count) -> this.statuses.put(status, count.sum()));
+    }
+
+    public double getThroughput() {
+        return histogram.getTotalCount() / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public double percentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    //Respostas fora da faixa 2xx, incluindo falhas sem resposta (status 0)
+    public long getErrors() {
+        return statuses.entrySet().stream()
+                .filter(e -> e.getKey() < 200 || e.getKey() >= 300)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    public String summary() {
+        return String.format("%-16s %6d req, concorrência %3d: %8.1f req/s | p50 %8.2f ms | p95 %8.2f ms | p99 %8.2f ms | max %8.2f ms | status %s",
+                scenario.getName(), histogram.getTotalCount(), scenario.getConcurrency(), getThroughput(),
+                percentileMillis(50), percentileMillis(95), percentileMillis(99), histogram.getMaxValue() / 1000.0, statuses);
+    }
+
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve(scenario.getName() + ".txt"), summary() + System.lineSeparator());
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(scenario.getName() + ".hgrm")))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.jorgeroberto.park_api.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.function.BiFunction;
+
+/*
+ * Cenário de carga: 'requests' requisições montadas por 'request' (recebe o índice da requisição),
+ * com no máximo 'concurrency' em andamento ao mesmo tempo. Os valores podem ser trocados por
+ * -Dpark.loadtest.<name>.requests e -Dpark.loadtest.<name>.concurrency.
+ * */
+@Getter
+@AllArgsConstructor
+public class LoadScenario {
+    private final String name;
+    private final int requests;
+    private final int concurrency;
+    private final BiFunction<WebClient, Integer, WebClient.RequestHeadersSpec<?>> request;
+
+    public int getRequests() {
+        return Integer.getInteger("park.loadtest." + name + ".requests", requests);
+    }
+
+    public int getConcurrency() {
+        return Integer.getInteger("park.loadtest." + name + ".concurrency", concurrency);
+    }
+}
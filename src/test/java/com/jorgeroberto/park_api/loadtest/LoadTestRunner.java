@@ -0,0 +1,58 @@
+package com.jorgeroberto.park_api.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Dispara um LoadScenario contra a aplicação com o WebClient (não bloqueante, flatMap limitado pela
+ * concorrência do cenário) e registra a latência de cada resposta, em microssegundos, em um HdrHistogram.
+ * Um aquecimento com 10% das requisições roda antes e fica fora da medição.
+ * O HdrHistogram já vem pelo micrometer-core (actuator), que o usa nos percentis das métricas.
+ * */
+public class LoadTestRunner {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final WebClient webClient;
+
+    public LoadTestRunner(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    public LoadReport run(LoadScenario scenario) {
+        execute(scenario, Math.max(1, scenario.getRequests() / 10), new ConcurrentHistogram(MAX_LATENCY_MICROS, 3),
+                new ConcurrentHashMap<>());
+
+        Histogram histogram = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        long start = System.nanoTime();
+        execute(scenario, scenario.getRequests(), histogram, statuses);
+        long elapsed = System.nanoTime() - start;
+        return new LoadReport(scenario, histogram, statuses, elapsed);
+    }
+
+    //Status 0 = falha sem resposta (conexão, timeout)
+    private void execute(LoadScenario scenario, int requests, Histogram histogram, Map<Integer, LongAdder> statuses) {
+        Flux.range(0, requests)
+                .flatMap(i -> Mono.defer(() -> {
+                    long sent = System.nanoTime();
+                    return scenario.getRequest().apply(webClient, i)
+                            .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value()))
+                            .onErrorReturn(0)
+                            .doOnNext(status -> {
+                                histogram.recordValue(Math.min(MAX_LATENCY_MICROS,
+                                        TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sent)));
+                                statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+                            });
+                }), scenario.getConcurrency())
+                .blockLast();
+    }
+}
@@ -0,0 +1,8 @@
+DELETE FROM occupancy_rollup_pending;
+DELETE FROM occupancy_rollup;
+DELETE FROM customer_visit_history;
+DELETE FROM customer_visit_stats;
+DELETE FROM customer_parking_space;
+DELETE FROM customers;
+DELETE FROM parking_space;
+DELETE FROM users;
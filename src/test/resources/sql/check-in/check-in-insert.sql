@@ -0,0 +1,28 @@
+insert into users (id, username, password, role)
+values (100, 'ana@email.com', '$2a$12$0GR0rzDEC3I4udi3/waAhe0kspNSQU/5Cg2mGBjYRxtPaxSP5Exi6', 'ROLE_ADMIN');
+
+insert into users (id, username, password, role)
+values (101, 'jorge@email.com', '$2a$12$0GR0rzDEC3I4udi3/waAhe0kspNSQU/5Cg2mGBjYRxtPaxSP5Exi6', 'ROLE_CUSTOMER');
+
+insert into users (id, username, password, role)
+values (102, 'test@email.com', '$2a$12$0GR0rzDEC3I4udi3/waAhe0kspNSQU/5Cg2mGBjYRxtPaxSP5Exi6', 'ROLE_CUSTOMER');
+
+insert into customers(id, name, cpf, id_user) values (20, 'Jorge Roberto Argolo', '68788268020', 101);
+insert into customers(id, name, cpf, id_user) values (21, 'Test Silva', '63332538047', 102);
+
+insert into parking_space (id, code, status) values (10, 'A-01', 'BUSY');
+insert into parking_space (id, code, status) values (20, 'A-02', 'FREE');
+insert into parking_space (id, code, status) values (30, 'A-03', 'FREE');
+insert into parking_space (id, code, status) values (40, 'A-04', 'BUSY');
+
+insert into customer_parking_space (id, receipt, plate, brand, model, color, entry_date, id_customer, id_parking_space)
+values (100, '20250301-101300', 'FIT-1020', 'FIAT', 'PALIO', 'VERDE', '2025-03-01 10:13:00', 20, 10);
+
+insert into customer_parking_space (id, receipt, plate, brand, model, color, entry_date, exit_date, id_customer, id_parking_space)
+values (200, '20250301-101400', 'SIE-1020', 'FIAT', 'SIENA', 'BRANCO', '2025-03-01 10:14:00', '2025-03-01 11:14:00', 21, 40);
+
+insert into customer_visit_history (receipt, entry_date, exit_date, customer_id, parking_space_code, plate, fee, discount)
+values ('20250301-101400', '2025-03-01 10:14:00', '2025-03-01 11:14:00', 21, 'A-04', 'SIE-1020', 14.25, 0.00);
+
+insert into customer_visit_stats (customer_id, visit_count, total_spent, last_visit)
+values (21, 1, 14.25, '2025-03-01 11:14:00');
@@ -0,0 +1,4 @@
+DELETE FROM customer_parking_space;
+DELETE FROM parking_space;
+DELETE FROM customers;
+DELETE FROM users;
@@ -0,0 +1,21 @@
+insert into users (id, username, password, role)
+values (100, 'ana@email.com', '$2a$12$0GR0rzDEC3I4udi3/waAhe0kspNSQU/5Cg2mGBjYRxtPaxSP5Exi6', 'ROLE_ADMIN');
+
+insert into users (id, username, password, role)
+values (101, 'jorge@email.com', '$2a$12$0GR0rzDEC3I4udi3/waAhe0kspNSQU/5Cg2mGBjYRxtPaxSP5Exi6', 'ROLE_CUSTOMER');
+
+insert into customers(id, name, cpf, id_user) values (20, 'Jorge Roberto Argolo', '68788268020', 101);
+
+-- 500 clientes para a listagem paginada
+insert into users (id, username, password, role)
+select 1000 + x, 'load' || x || '@email.com', '$2a$12$0GR0rzDEC3I4udi3/waAhe0kspNSQU/5Cg2mGBjYRxtPaxSP5Exi6', 'ROLE_CUSTOMER'
+from system_range(1, 500);
+
+insert into customers(id, name, cpf, id_user)
+select 1000 + x, 'Cliente ' || lpad(x, 3, '0'), lpad(x, 11, '0'), 1000 + x
+from system_range(1, 500);
+
+-- 500 vagas livres (L001 .. L500) para as consultas por código e o check-in
+insert into parking_space (id, code, status)
+select 10000 + x, 'L' || lpad(x, 3, '0'), 'FREE'
+from system_range(1, 500);